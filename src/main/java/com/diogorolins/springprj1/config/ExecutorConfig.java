@@ -0,0 +1,91 @@
+package com.diogorolins.springprj1.config;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+public class ExecutorConfig {
+
+	@Value("${checkout.validation.threads}")
+	private Integer validationThreads;
+	
+	@Value("${checkout.validation.queue}")
+	private Integer validationQueue;
+	
+	@Value("${checkout.threads}")
+	private Integer checkoutThreads;
+	
+	@Value("${checkout.queue}")
+	private Integer checkoutQueue;
+	
+	@Value("${stream.threads}")
+	private Integer streamThreads;
+	
+	@Value("${stream.queue}")
+	private Integer streamQueue;
+	
+	@Value("${password.queue}")
+	private Integer passwordQueue;
+	
+	@Value("${upload.threads}")
+	private Integer uploadThreads;
+	
+	@Value("${upload.queue}")
+	private Integer uploadQueue;
+	
+	@Bean
+	public ThreadPoolTaskExecutor checkoutValidationExecutor() {
+		ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+		executor.setCorePoolSize(validationThreads);
+		executor.setMaxPoolSize(validationThreads);
+		executor.setQueueCapacity(validationQueue);
+		executor.setThreadNamePrefix("checkout-validation-");
+		executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+		return executor;
+	}
+	
+	@Bean
+	public ThreadPoolTaskExecutor checkoutExecutor() {
+		ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+		executor.setCorePoolSize(checkoutThreads);
+		executor.setMaxPoolSize(checkoutThreads);
+		executor.setQueueCapacity(checkoutQueue);
+		executor.setThreadNamePrefix("checkout-");
+		return executor;
+	}
+	
+	@Bean
+	public ThreadPoolTaskExecutor streamExecutor() {
+		ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+		executor.setCorePoolSize(streamThreads);
+		executor.setMaxPoolSize(streamThreads);
+		executor.setQueueCapacity(streamQueue);
+		executor.setThreadNamePrefix("stream-");
+		return executor;
+	}
+	
+	@Bean
+	public ThreadPoolTaskExecutor passwordExecutor() {
+		int threads = Runtime.getRuntime().availableProcessors();
+		ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+		executor.setCorePoolSize(threads);
+		executor.setMaxPoolSize(threads);
+		executor.setQueueCapacity(passwordQueue);
+		executor.setThreadNamePrefix("password-");
+		return executor;
+	}
+	
+	@Bean
+	public ThreadPoolTaskExecutor uploadExecutor() {
+		ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+		executor.setCorePoolSize(uploadThreads);
+		executor.setMaxPoolSize(uploadThreads);
+		executor.setQueueCapacity(uploadQueue);
+		executor.setThreadNamePrefix("upload-");
+		return executor;
+	}
+}
@@ -7,7 +7,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Profile;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
 
 import com.diogorolins.springprj1.domain.Address;
 import com.diogorolins.springprj1.domain.Category;
@@ -15,6 +15,7 @@ import com.diogorolins.springprj1.domain.City;
 import com.diogorolins.springprj1.domain.Client;
 import com.diogorolins.springprj1.domain.Order;
 import com.diogorolins.springprj1.domain.OrderItem;
+import com.diogorolins.springprj1.domain.OrderSummary;
 import com.diogorolins.springprj1.domain.Payment;
 import com.diogorolins.springprj1.domain.PaymentBoleto;
 import com.diogorolins.springprj1.domain.PaymentCard;
@@ -29,9 +30,11 @@ import com.diogorolins.springprj1.repositories.CityRepository;
 import com.diogorolins.springprj1.repositories.ClientRepository;
 import com.diogorolins.springprj1.repositories.OrderItemRepository;
 import com.diogorolins.springprj1.repositories.OrderRepository;
+import com.diogorolins.springprj1.repositories.OrderSummaryRepository;
 import com.diogorolins.springprj1.repositories.PaymentRepository;
 import com.diogorolins.springprj1.repositories.ProductRepository;
 import com.diogorolins.springprj1.repositories.StateRepository;
+import com.diogorolins.springprj1.services.SalesRollupService;
 
 @Configuration
 @Profile("dev")
@@ -65,7 +68,13 @@ public class Instantiation implements CommandLineRunner{
 	private OrderItemRepository orderItemRepository;
 	
 	@Autowired
-	private BCryptPasswordEncoder pe;
+	private OrderSummaryRepository orderSummaryRepository;
+	
+	@Autowired
+	private SalesRollupService salesRollupService;
+	
+	@Autowired
+	private PasswordEncoder pe;
 	
 	@Override
 	public void run(String... args) throws Exception {
@@ -262,6 +271,10 @@ public class Instantiation implements CommandLineRunner{
 		p3.getItems().addAll(Arrays.asList(oi2));
 		
 		orderItemRepository.saveAll(Arrays.asList(oi1, oi2, oi3));
+		orderSummaryRepository.saveAll(Arrays.asList(new OrderSummary(ord1), new OrderSummary(ord2)));
+		salesRollupService.recordPlaced(ord1);
+		salesRollupService.recordStatusChange(ord1, PaymentStatus.WAITING_PAYMENT, PaymentStatus.PAID);
+		salesRollupService.recordPlaced(ord2);
 		
 	}
 
@@ -3,9 +3,12 @@ package com.diogorolins.springprj1.config;
 import java.util.Arrays;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.env.Environment;
+import org.springframework.core.task.AsyncTaskExecutor;
 import org.springframework.http.HttpMethod;
 import org.springframework.security.config.annotation.authentication.builders.AuthenticationManagerBuilder;
 import org.springframework.security.config.annotation.method.configuration.EnableGlobalMethodSecurity;
@@ -14,14 +17,17 @@ import org.springframework.security.config.annotation.web.configuration.EnableWe
 import org.springframework.security.config.annotation.web.configuration.WebSecurityConfigurerAdapter;
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.core.userdetails.UserDetailsService;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
+import com.diogorolins.springprj1.security.HashingPasswordEncoder;
 import com.diogorolins.springprj1.security.JWTAuthenticationFilter;
 import com.diogorolins.springprj1.security.JWTAuthorizationFilter;
 import com.diogorolins.springprj1.security.JWTUtil;
+import com.diogorolins.springprj1.security.LoginThrottle;
+import com.diogorolins.springprj1.services.TokenRevocationService;
 
 @Configuration
 @EnableWebSecurity
@@ -37,6 +43,22 @@ public class SecurityConfig extends WebSecurityConfigurerAdapter {
 	@Autowired
 	private JWTUtil jwtUtil;
 	
+	@Autowired
+	private LoginThrottle loginThrottle;
+	
+	@Autowired
+	private TokenRevocationService revocationService;
+	
+	@Autowired
+	@Qualifier("passwordExecutor")
+	private AsyncTaskExecutor passwordExecutor;
+	
+	@Value("${password.strength}")
+	private Integer passwordStrength;
+	
+	@Value("${password.timeout}")
+	private Long passwordTimeout;
+	
 	private static final String[] PUBLIC_MATCHERS = { 
 			"/h2-console/**"			
 	};
@@ -49,7 +71,8 @@ public class SecurityConfig extends WebSecurityConfigurerAdapter {
 	
 	private static final String[] PUBLIC_MATCHERS_POST = { 
 			"/clients" ,
-			"/auth/forgot/**"
+			"/auth/forgot/**" ,
+			"/payments/webhooks/**"
 	};
 	
 	private static final String[] PUBLIC_MATCHERS_PUT = { 
@@ -69,14 +92,14 @@ public class SecurityConfig extends WebSecurityConfigurerAdapter {
 			.antMatchers(HttpMethod.POST, PUBLIC_MATCHERS_POST).permitAll()
 			.antMatchers(HttpMethod.PUT, PUBLIC_MATCHERS_PUT).permitAll()
 			.anyRequest().authenticated();
-		http.addFilter(new JWTAuthenticationFilter(authenticationManager(), jwtUtil));
-		http.addFilter(new JWTAuthorizationFilter(authenticationManager(), jwtUtil, userDetailsService));
+		http.addFilter(new JWTAuthenticationFilter(authenticationManager(), jwtUtil, loginThrottle));
+		http.addFilter(new JWTAuthorizationFilter(authenticationManager(), jwtUtil, revocationService));
 		http.sessionManagement().sessionCreationPolicy(SessionCreationPolicy.STATELESS);
 	}
 	
 	@Override
 	public void configure(AuthenticationManagerBuilder auth) throws Exception {
-		auth.userDetailsService(userDetailsService).passwordEncoder(bCryptPasswordEncoder());
+		auth.userDetailsService(userDetailsService).passwordEncoder(passwordEncoder());
 	}
 
 	@Bean
@@ -89,8 +112,8 @@ public class SecurityConfig extends WebSecurityConfigurerAdapter {
 	}
 	
 	@Bean
-	public BCryptPasswordEncoder bCryptPasswordEncoder() {
-		return new BCryptPasswordEncoder();
+	public PasswordEncoder passwordEncoder() {
+		return new HashingPasswordEncoder(passwordStrength, passwordExecutor, passwordTimeout);
 	}
 	
 	
@@ -2,16 +2,15 @@ package com.diogorolins.springprj1.domain;
 
 import java.io.Serializable;
 import java.util.ArrayList;
-import java.util.HashSet;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Set;
-import java.util.stream.Collectors;
 
 import javax.persistence.CascadeType;
 import javax.persistence.CollectionTable;
+import javax.persistence.Column;
 import javax.persistence.ElementCollection;
 import javax.persistence.Entity;
-import javax.persistence.FetchType;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
@@ -21,6 +20,7 @@ import javax.persistence.Table;
 import com.diogorolins.springprj1.domain.enums.ClientType;
 import com.diogorolins.springprj1.domain.enums.Roles;
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
 
 @Entity
 @Table(name = "tb_client")
@@ -45,9 +45,9 @@ public class Client implements Serializable{
 	@CollectionTable(name = "tb_phone")
 	private List<String> phones = new ArrayList<>();
 	
-	@ElementCollection(fetch = FetchType.EAGER)
-	@CollectionTable(name = "tb_roles")
-	private Set<Integer> roles = new HashSet<>();
+	@JsonIgnore
+	@Column(nullable = false, columnDefinition = "int not null default 0")
+	private int roles;
 	
 	
 	@JsonIgnore
@@ -117,12 +117,28 @@ public class Client implements Serializable{
 		this.password = password;
 	}
 	
+	@JsonProperty("roles")
 	public Set<Roles> getRoles(){
-		return roles.stream().map(x -> Roles.valueOf(x)).collect(Collectors.toSet());
+		Set<Roles> set = EnumSet.noneOf(Roles.class);
+		for (Roles role : Roles.values()) {
+			if (hasRole(role)) {
+				set.add(role);
+			}
+		}
+		return set;
+	}
+	
+	@JsonIgnore
+	public int getRoleMask() {
+		return roles;
+	}
+	
+	public boolean hasRole(Roles role) {
+		return (roles & role.getMask()) != 0;
 	}
 	
 	public void addRole(Roles role) {
-		roles.add(role.getCode());
+		roles |= role.getMask();
 	}
 
 	public List<Address> getAddresses() {
@@ -9,20 +9,28 @@ import java.util.Locale;
 import java.util.Set;
 
 import javax.persistence.CascadeType;
+import javax.persistence.Column;
 import javax.persistence.Entity;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
+import javax.persistence.Index;
 import javax.persistence.JoinColumn;
 import javax.persistence.ManyToOne;
 import javax.persistence.OneToMany;
 import javax.persistence.OneToOne;
 import javax.persistence.Table;
+import javax.persistence.UniqueConstraint;
 
 import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 
 @Entity
-@Table(name = "tb_order")
+@Table(name = "tb_order", uniqueConstraints = {
+		@UniqueConstraint(name = "uk_order_client_idempotency", columnNames = {"client_id", "idempotency_key"})
+}, indexes = {
+		@Index(name = "idx_order_client_instant", columnList = "client_id, instant")
+})
 public class Order  implements Serializable{
 	private static final long serialVersionUID = 1L;
 	
@@ -47,6 +55,10 @@ public class Order  implements Serializable{
 	@OneToMany(mappedBy = "id.order")
 	private Set<OrderItem> items = new HashSet<>();
 	
+	@JsonIgnore
+	@Column(length = 64)
+	private String idempotencyKey;
+	
 	public Order() {
 		
 	}
@@ -103,6 +115,14 @@ public class Order  implements Serializable{
 		this.address = address;
 	}
 	
+	public String getIdempotencyKey() {
+		return idempotencyKey;
+	}
+
+	public void setIdempotencyKey(String idempotencyKey) {
+		this.idempotencyKey = idempotencyKey;
+	}
+
 	public Set<OrderItem> getItems() {
 		return items;
 	}
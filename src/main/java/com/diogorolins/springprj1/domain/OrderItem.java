@@ -37,7 +37,7 @@ public class OrderItem implements Serializable{
 	}
 	
 	public Double getSubTotal() {
-		return price * quantity;
+		return (price - ((discount == null) ? 0.0 : discount)) * quantity;
 	}
 
 	@JsonIgnore
@@ -0,0 +1,135 @@
+package com.diogorolins.springprj1.domain;
+
+import java.io.Serializable;
+import java.util.Date;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Index;
+import javax.persistence.Table;
+
+import com.diogorolins.springprj1.domain.enums.PaymentStatus;
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+@Entity
+@Table(name = "tb_order_summary", indexes = {
+		@Index(name = "idx_order_summary_client_instant", columnList = "client_id, instant")
+})
+public class OrderSummary implements Serializable{
+	private static final long serialVersionUID = 1L;
+
+	@Id
+	private Integer id;
+
+	@JsonIgnore
+	@Column(name = "client_id")
+	private Integer clientId;
+
+	@JsonFormat(pattern = "dd/MM/yyyy HH:mm")
+	private Date instant;
+
+	private Double total;
+	private Integer itemCount;
+	private String paymentType;
+	private Integer paymentStatus;
+
+	public OrderSummary() {
+
+	}
+
+	public OrderSummary(Order order) {
+		super();
+		this.id = order.getId();
+		this.clientId = order.getClient().getId();
+		this.instant = order.getInstant();
+		this.total = order.getTotal();
+		this.itemCount = order.getItems().stream().mapToInt(i -> i.getQuantity()).sum();
+		this.paymentType = (order.getPayment() instanceof PaymentBoleto) ? "paymentBoleto" : "paymentCard";
+		this.paymentStatus = order.getPayment().getPaymentStatus().getCode();
+	}
+
+	public Integer getId() {
+		return id;
+	}
+
+	public void setId(Integer id) {
+		this.id = id;
+	}
+
+	public Integer getClientId() {
+		return clientId;
+	}
+
+	public void setClientId(Integer clientId) {
+		this.clientId = clientId;
+	}
+
+	public Date getInstant() {
+		return instant;
+	}
+
+	public void setInstant(Date instant) {
+		this.instant = instant;
+	}
+
+	public Double getTotal() {
+		return total;
+	}
+
+	public void setTotal(Double total) {
+		this.total = total;
+	}
+
+	public Integer getItemCount() {
+		return itemCount;
+	}
+
+	public void setItemCount(Integer itemCount) {
+		this.itemCount = itemCount;
+	}
+
+	public String getPaymentType() {
+		return paymentType;
+	}
+
+	public void setPaymentType(String paymentType) {
+		this.paymentType = paymentType;
+	}
+
+	public PaymentStatus getPaymentStatus() {
+		return PaymentStatus.valueOf(paymentStatus);
+	}
+
+	public void setPaymentStatus(PaymentStatus paymentStatus) {
+		this.paymentStatus = paymentStatus.getCode();
+	}
+
+	@Override
+	public int hashCode() {
+		final int prime = 31;
+		int result = 1;
+		result = prime * result + ((id == null) ? 0 : id.hashCode());
+		return result;
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj)
+			return true;
+		if (obj == null)
+			return false;
+		if (getClass() != obj.getClass())
+			return false;
+		OrderSummary other = (OrderSummary) obj;
+		if (id == null) {
+			if (other.id != null)
+				return false;
+		} else if (!id.equals(other.id))
+			return false;
+		return true;
+	}
+
+
+}
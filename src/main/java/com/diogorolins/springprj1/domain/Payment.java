@@ -2,8 +2,10 @@ package com.diogorolins.springprj1.domain;
 
 import java.io.Serializable;
 
+import javax.persistence.DiscriminatorColumn;
 import javax.persistence.Entity;
 import javax.persistence.Id;
+import javax.persistence.Index;
 import javax.persistence.Inheritance;
 import javax.persistence.InheritanceType;
 import javax.persistence.JoinColumn;
@@ -16,8 +18,11 @@ import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonTypeInfo;
 
 @Entity
-@Table(name = "tb_payment")
+@Table(name = "tb_payment", indexes = {
+		@Index(name = "idx_payment_status", columnList = "payment_status, order_id")
+})
 @Inheritance(strategy = InheritanceType.JOINED)
+@DiscriminatorColumn(name = "payment_type")
 @JsonTypeInfo(use = JsonTypeInfo.Id.NAME, include = JsonTypeInfo.As.PROPERTY, property = "@type")
 public abstract class Payment implements Serializable{
 	private static final long serialVersionUID = 1L;
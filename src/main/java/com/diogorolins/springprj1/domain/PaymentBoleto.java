@@ -2,13 +2,20 @@ package com.diogorolins.springprj1.domain;
 
 import java.util.Date;
 
+import javax.persistence.DiscriminatorValue;
 import javax.persistence.Entity;
+import javax.persistence.Index;
+import javax.persistence.Table;
 
 import com.diogorolins.springprj1.domain.enums.PaymentStatus;
 import com.fasterxml.jackson.annotation.JsonFormat;
 import com.fasterxml.jackson.annotation.JsonTypeName;
 
 @Entity
+@DiscriminatorValue("paymentBoleto")
+@Table(indexes = {
+		@Index(name = "idx_boleto_due_date", columnList = "due_date")
+})
 @JsonTypeName("paymentBoleto")
 public class PaymentBoleto extends Payment{
 	private static final long serialVersionUID = 1L;
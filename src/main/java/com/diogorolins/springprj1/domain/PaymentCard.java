@@ -1,11 +1,13 @@
 package com.diogorolins.springprj1.domain;
 
+import javax.persistence.DiscriminatorValue;
 import javax.persistence.Entity;
 
 import com.diogorolins.springprj1.domain.enums.PaymentStatus;
 import com.fasterxml.jackson.annotation.JsonTypeName;
 
 @Entity
+@DiscriminatorValue("paymentCard")
 @JsonTypeName("paymentCard")
 public class PaymentCard extends Payment{
 	private static final long serialVersionUID = 1L;
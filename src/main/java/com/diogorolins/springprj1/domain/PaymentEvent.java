@@ -0,0 +1,157 @@
+package com.diogorolins.springprj1.domain;
+
+import java.io.Serializable;
+import java.util.Date;
+
+import javax.persistence.Entity;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.Index;
+import javax.persistence.Lob;
+import javax.persistence.Table;
+import javax.persistence.UniqueConstraint;
+
+import com.diogorolins.springprj1.domain.enums.PaymentStatus;
+
+@Entity
+@Table(name = "tb_payment_event", uniqueConstraints = {
+		@UniqueConstraint(name = "uk_payment_event_gateway_event", columnNames = {"gateway", "event_id"})
+}, indexes = {
+		@Index(name = "idx_payment_event_processed", columnList = "processed, id")
+})
+public class PaymentEvent implements Serializable{
+	private static final long serialVersionUID = 1L;
+	
+	@Id
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	private Long id;
+	
+	private String gateway;
+	private String eventId;
+	private Integer paymentId;
+	private Integer paymentStatus;
+	private Date paymentDate;
+	private Date receivedAt;
+	private Boolean processed;
+	
+	@Lob
+	private String payload;
+	
+	public PaymentEvent() {
+		
+	}
+
+	public PaymentEvent(Long id, String gateway, String eventId, Integer paymentId, PaymentStatus paymentStatus,
+			Date paymentDate, Date receivedAt, String payload) {
+		super();
+		this.id = id;
+		this.gateway = gateway;
+		this.eventId = eventId;
+		this.paymentId = paymentId;
+		this.paymentStatus = (paymentStatus == null) ? null : paymentStatus.getCode();
+		this.paymentDate = paymentDate;
+		this.receivedAt = receivedAt;
+		this.processed = false;
+		this.payload = payload;
+	}
+
+	public Long getId() {
+		return id;
+	}
+
+	public void setId(Long id) {
+		this.id = id;
+	}
+
+	public String getGateway() {
+		return gateway;
+	}
+
+	public void setGateway(String gateway) {
+		this.gateway = gateway;
+	}
+
+	public String getEventId() {
+		return eventId;
+	}
+
+	public void setEventId(String eventId) {
+		this.eventId = eventId;
+	}
+
+	public Integer getPaymentId() {
+		return paymentId;
+	}
+
+	public void setPaymentId(Integer paymentId) {
+		this.paymentId = paymentId;
+	}
+
+	public PaymentStatus getPaymentStatus() {
+		return PaymentStatus.valueOf(paymentStatus);
+	}
+
+	public void setPaymentStatus(PaymentStatus paymentStatus) {
+		this.paymentStatus = paymentStatus.getCode();
+	}
+
+	public Date getPaymentDate() {
+		return paymentDate;
+	}
+
+	public void setPaymentDate(Date paymentDate) {
+		this.paymentDate = paymentDate;
+	}
+
+	public Date getReceivedAt() {
+		return receivedAt;
+	}
+
+	public void setReceivedAt(Date receivedAt) {
+		this.receivedAt = receivedAt;
+	}
+
+	public Boolean getProcessed() {
+		return processed;
+	}
+
+	public void setProcessed(Boolean processed) {
+		this.processed = processed;
+	}
+
+	public String getPayload() {
+		return payload;
+	}
+
+	public void setPayload(String payload) {
+		this.payload = payload;
+	}
+
+	@Override
+	public int hashCode() {
+		final int prime = 31;
+		int result = 1;
+		result = prime * result + ((id == null) ? 0 : id.hashCode());
+		return result;
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj)
+			return true;
+		if (obj == null)
+			return false;
+		if (getClass() != obj.getClass())
+			return false;
+		PaymentEvent other = (PaymentEvent) obj;
+		if (id == null) {
+			if (other.id != null)
+				return false;
+		} else if (!id.equals(other.id))
+			return false;
+		return true;
+	}
+	
+	
+}
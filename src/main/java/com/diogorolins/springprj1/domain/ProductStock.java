@@ -0,0 +1,77 @@
+package com.diogorolins.springprj1.domain;
+
+import java.io.Serializable;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Table;
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotNull;
+
+@Entity
+@Table(name = "tb_product_stock")
+public class ProductStock implements Serializable{
+	private static final long serialVersionUID = 1L;
+	
+	@Id
+	@Column(name = "product_id")
+	private Integer productId;
+	
+	@NotNull(message = "Campo obrigatório")
+	@Min(value = 0, message = "Não pode ser negativo")
+	private Integer quantity;
+	
+	public ProductStock() {
+		
+	}
+
+	public ProductStock(Integer productId, Integer quantity) {
+		super();
+		this.productId = productId;
+		this.quantity = quantity;
+	}
+
+	public Integer getProductId() {
+		return productId;
+	}
+
+	public void setProductId(Integer productId) {
+		this.productId = productId;
+	}
+
+	public Integer getQuantity() {
+		return quantity;
+	}
+
+	public void setQuantity(Integer quantity) {
+		this.quantity = quantity;
+	}
+
+	@Override
+	public int hashCode() {
+		final int prime = 31;
+		int result = 1;
+		result = prime * result + ((productId == null) ? 0 : productId.hashCode());
+		return result;
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj)
+			return true;
+		if (obj == null)
+			return false;
+		if (getClass() != obj.getClass())
+			return false;
+		ProductStock other = (ProductStock) obj;
+		if (productId == null) {
+			if (other.productId != null)
+				return false;
+		} else if (!productId.equals(other.productId))
+			return false;
+		return true;
+	}
+	
+	
+}
@@ -0,0 +1,99 @@
+package com.diogorolins.springprj1.domain;
+
+import java.io.Serializable;
+import java.util.Date;
+
+import javax.persistence.Entity;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.Index;
+import javax.persistence.Table;
+
+@Entity
+@Table(name = "tb_revoked_token", indexes = {
+		@Index(name = "idx_revoked_token_expires_at", columnList = "expires_at"),
+		@Index(name = "idx_revoked_token_revoked_at", columnList = "revoked_at")
+})
+public class RevokedToken implements Serializable{
+	private static final long serialVersionUID = 1L;
+	
+	@Id
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	private Long id;
+	
+	private String tokenKey;
+	private Date revokedAt;
+	private Date expiresAt;
+	
+	public RevokedToken() {
+		
+	}
+
+	public RevokedToken(Long id, String tokenKey, Date revokedAt, Date expiresAt) {
+		super();
+		this.id = id;
+		this.tokenKey = tokenKey;
+		this.revokedAt = revokedAt;
+		this.expiresAt = expiresAt;
+	}
+
+	public Long getId() {
+		return id;
+	}
+
+	public void setId(Long id) {
+		this.id = id;
+	}
+
+	public String getTokenKey() {
+		return tokenKey;
+	}
+
+	public void setTokenKey(String tokenKey) {
+		this.tokenKey = tokenKey;
+	}
+
+	public Date getRevokedAt() {
+		return revokedAt;
+	}
+
+	public void setRevokedAt(Date revokedAt) {
+		this.revokedAt = revokedAt;
+	}
+
+	public Date getExpiresAt() {
+		return expiresAt;
+	}
+
+	public void setExpiresAt(Date expiresAt) {
+		this.expiresAt = expiresAt;
+	}
+
+	@Override
+	public int hashCode() {
+		final int prime = 31;
+		int result = 1;
+		result = prime * result + ((id == null) ? 0 : id.hashCode());
+		return result;
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj)
+			return true;
+		if (obj == null)
+			return false;
+		if (getClass() != obj.getClass())
+			return false;
+		RevokedToken other = (RevokedToken) obj;
+		if (id == null) {
+			if (other.id != null)
+				return false;
+		} else if (!id.equals(other.id))
+			return false;
+		return true;
+	}
+	
+	
+}
@@ -0,0 +1,101 @@
+package com.diogorolins.springprj1.domain;
+
+import java.io.Serializable;
+
+import javax.persistence.EmbeddedId;
+import javax.persistence.Entity;
+import javax.persistence.Table;
+
+@Entity
+@Table(name = "tb_sales_rollup")
+public class SalesRollup implements Serializable{
+	private static final long serialVersionUID = 1L;
+	
+	@EmbeddedId
+	private SalesRollupPK id;
+	
+	private Long orders;
+	private Long units;
+	private Double revenue;
+	private Double paidRevenue;
+	
+	public SalesRollup() {
+		
+	}
+
+	public SalesRollup(SalesRollupPK id, Long orders, Long units, Double revenue, Double paidRevenue) {
+		super();
+		this.id = id;
+		this.orders = orders;
+		this.units = units;
+		this.revenue = revenue;
+		this.paidRevenue = paidRevenue;
+	}
+
+	public SalesRollupPK getId() {
+		return id;
+	}
+
+	public void setId(SalesRollupPK id) {
+		this.id = id;
+	}
+
+	public Long getOrders() {
+		return orders;
+	}
+
+	public void setOrders(Long orders) {
+		this.orders = orders;
+	}
+
+	public Long getUnits() {
+		return units;
+	}
+
+	public void setUnits(Long units) {
+		this.units = units;
+	}
+
+	public Double getRevenue() {
+		return revenue;
+	}
+
+	public void setRevenue(Double revenue) {
+		this.revenue = revenue;
+	}
+
+	public Double getPaidRevenue() {
+		return paidRevenue;
+	}
+
+	public void setPaidRevenue(Double paidRevenue) {
+		this.paidRevenue = paidRevenue;
+	}
+
+	@Override
+	public int hashCode() {
+		final int prime = 31;
+		int result = 1;
+		result = prime * result + ((id == null) ? 0 : id.hashCode());
+		return result;
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj)
+			return true;
+		if (obj == null)
+			return false;
+		if (getClass() != obj.getClass())
+			return false;
+		SalesRollup other = (SalesRollup) obj;
+		if (id == null) {
+			if (other.id != null)
+				return false;
+		} else if (!id.equals(other.id))
+			return false;
+		return true;
+	}
+	
+	
+}
@@ -0,0 +1,89 @@
+package com.diogorolins.springprj1.domain;
+
+import java.io.Serializable;
+import java.util.Date;
+
+import javax.persistence.Embeddable;
+import javax.persistence.Temporal;
+import javax.persistence.TemporalType;
+
+import com.diogorolins.springprj1.domain.enums.RollupDimension;
+
+@Embeddable
+public class SalesRollupPK implements Serializable{
+	private static final long serialVersionUID = 1L;
+	
+	private Integer dimension;
+	private Integer dimensionId;
+	
+	@Temporal(TemporalType.DATE)
+	private Date day;
+	
+	public SalesRollupPK() {
+		
+	}
+	
+	public SalesRollupPK(RollupDimension dimension, Integer dimensionId, Date day) {
+		super();
+		this.dimension = dimension.getCode();
+		this.dimensionId = dimensionId;
+		this.day = day;
+	}
+	
+	public RollupDimension getDimension() {
+		return RollupDimension.valueOf(dimension);
+	}
+	public void setDimension(RollupDimension dimension) {
+		this.dimension = dimension.getCode();
+	}
+	public Integer getDimensionId() {
+		return dimensionId;
+	}
+	public void setDimensionId(Integer dimensionId) {
+		this.dimensionId = dimensionId;
+	}
+	public Date getDay() {
+		return day;
+	}
+	public void setDay(Date day) {
+		this.day = day;
+	}
+	@Override
+	public int hashCode() {
+		final int prime = 31;
+		int result = 1;
+		result = prime * result + ((day == null) ? 0 : day.hashCode());
+		result = prime * result + ((dimension == null) ? 0 : dimension.hashCode());
+		result = prime * result + ((dimensionId == null) ? 0 : dimensionId.hashCode());
+		return result;
+	}
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj)
+			return true;
+		if (obj == null)
+			return false;
+		if (getClass() != obj.getClass())
+			return false;
+		SalesRollupPK other = (SalesRollupPK) obj;
+		if (day == null) {
+			if (other.day != null)
+				return false;
+		} else if (!day.equals(other.day))
+			return false;
+		if (dimension == null) {
+			if (other.dimension != null)
+				return false;
+		} else if (!dimension.equals(other.dimension))
+			return false;
+		if (dimensionId == null) {
+			if (other.dimensionId != null)
+				return false;
+		} else if (!dimensionId.equals(other.dimensionId))
+			return false;
+		return true;
+	}
+	
+	
+	
+}
@@ -0,0 +1,70 @@
+package com.diogorolins.springprj1.domain.dto;
+
+import java.io.Serializable;
+import java.util.Date;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+
+public class AnalyticsRowDTO implements Serializable{
+	private static final long serialVersionUID = 1L;
+	
+	private Long key;
+	@JsonFormat(pattern = "dd/MM/yyyy")
+	private Date day;
+	private Long count;
+	private Long units;
+	private Double revenue;
+	
+	public AnalyticsRowDTO() {
+		
+	}
+	
+	public AnalyticsRowDTO(Long key, Long count, Long units, Double revenue) {
+		this.key = key;
+		this.count = count;
+		this.units = units;
+		this.revenue = revenue;
+	}
+
+	public Long getKey() {
+		return key;
+	}
+
+	public void setKey(Long key) {
+		this.key = key;
+	}
+
+	public Date getDay() {
+		return day;
+	}
+
+	public void setDay(Date day) {
+		this.day = day;
+	}
+
+	public Long getCount() {
+		return count;
+	}
+
+	public void setCount(Long count) {
+		this.count = count;
+	}
+
+	public Long getUnits() {
+		return units;
+	}
+
+	public void setUnits(Long units) {
+		this.units = units;
+	}
+
+	public Double getRevenue() {
+		return revenue;
+	}
+
+	public void setRevenue(Double revenue) {
+		this.revenue = revenue;
+	}
+	
+	
+}
@@ -0,0 +1,106 @@
+package com.diogorolins.springprj1.domain.dto;
+
+import java.io.Serializable;
+import java.util.Date;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+
+public class BoletoExpiryDTO implements Serializable{
+	private static final long serialVersionUID = 1L;
+	
+	private Long runs;
+	private Long scanned;
+	private Long canceled;
+	private Long totalMillis;
+	private Integer lastCanceled;
+	private Long lastMillis;
+	
+	@JsonFormat(pattern = "dd/MM/yyyy HH:mm")
+	private Date lastRun;
+	
+	@JsonFormat(pattern = "dd/MM/yyyy HH:mm")
+	private Date lastCutoff;
+	
+	public BoletoExpiryDTO() {
+		
+	}
+
+	public BoletoExpiryDTO(Long runs, Long scanned, Long canceled, Long totalMillis, Integer lastCanceled,
+			Long lastMillis, Date lastRun, Date lastCutoff) {
+		super();
+		this.runs = runs;
+		this.scanned = scanned;
+		this.canceled = canceled;
+		this.totalMillis = totalMillis;
+		this.lastCanceled = lastCanceled;
+		this.lastMillis = lastMillis;
+		this.lastRun = lastRun;
+		this.lastCutoff = lastCutoff;
+	}
+
+	public Long getRuns() {
+		return runs;
+	}
+
+	public void setRuns(Long runs) {
+		this.runs = runs;
+	}
+
+	public Long getScanned() {
+		return scanned;
+	}
+
+	public void setScanned(Long scanned) {
+		this.scanned = scanned;
+	}
+
+	public Long getCanceled() {
+		return canceled;
+	}
+
+	public void setCanceled(Long canceled) {
+		this.canceled = canceled;
+	}
+
+	public Long getTotalMillis() {
+		return totalMillis;
+	}
+
+	public void setTotalMillis(Long totalMillis) {
+		this.totalMillis = totalMillis;
+	}
+
+	public Integer getLastCanceled() {
+		return lastCanceled;
+	}
+
+	public void setLastCanceled(Integer lastCanceled) {
+		this.lastCanceled = lastCanceled;
+	}
+
+	public Long getLastMillis() {
+		return lastMillis;
+	}
+
+	public void setLastMillis(Long lastMillis) {
+		this.lastMillis = lastMillis;
+	}
+
+	public Date getLastRun() {
+		return lastRun;
+	}
+
+	public void setLastRun(Date lastRun) {
+		this.lastRun = lastRun;
+	}
+
+	public Date getLastCutoff() {
+		return lastCutoff;
+	}
+
+	public void setLastCutoff(Date lastCutoff) {
+		this.lastCutoff = lastCutoff;
+	}
+	
+	
+}
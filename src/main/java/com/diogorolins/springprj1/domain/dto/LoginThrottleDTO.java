@@ -0,0 +1,58 @@
+package com.diogorolins.springprj1.domain.dto;
+
+import java.io.Serializable;
+
+public class LoginThrottleDTO implements Serializable{
+	private static final long serialVersionUID = 1L;
+	
+	private Long allowed;
+	private Long throttledByEmail;
+	private Long throttledByIp;
+	private Integer trackedKeys;
+	
+	public LoginThrottleDTO() {
+		
+	}
+
+	public LoginThrottleDTO(Long allowed, Long throttledByEmail, Long throttledByIp, Integer trackedKeys) {
+		super();
+		this.allowed = allowed;
+		this.throttledByEmail = throttledByEmail;
+		this.throttledByIp = throttledByIp;
+		this.trackedKeys = trackedKeys;
+	}
+
+	public Long getAllowed() {
+		return allowed;
+	}
+
+	public void setAllowed(Long allowed) {
+		this.allowed = allowed;
+	}
+
+	public Long getThrottledByEmail() {
+		return throttledByEmail;
+	}
+
+	public void setThrottledByEmail(Long throttledByEmail) {
+		this.throttledByEmail = throttledByEmail;
+	}
+
+	public Long getThrottledByIp() {
+		return throttledByIp;
+	}
+
+	public void setThrottledByIp(Long throttledByIp) {
+		this.throttledByIp = throttledByIp;
+	}
+
+	public Integer getTrackedKeys() {
+		return trackedKeys;
+	}
+
+	public void setTrackedKeys(Integer trackedKeys) {
+		this.trackedKeys = trackedKeys;
+	}
+	
+	
+}
@@ -0,0 +1,67 @@
+package com.diogorolins.springprj1.domain.dto;
+
+import java.io.Serializable;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.Set;
+
+import com.diogorolins.springprj1.domain.Order;
+import com.diogorolins.springprj1.domain.OrderItem;
+import com.diogorolins.springprj1.domain.Payment;
+import com.fasterxml.jackson.annotation.JsonFormat;
+
+public class OrderQuoteDTO implements Serializable{
+	private static final long serialVersionUID = 1L;
+	
+	@JsonFormat(pattern = "dd/MM/yyyy HH:mm")
+	private Date instant;
+	
+	private Payment payment;
+	private Set<OrderItem> items = new HashSet<>();
+	private Double total;
+	
+	public OrderQuoteDTO() {
+		
+	}
+	
+	public OrderQuoteDTO(Order order) {
+		this.instant = order.getInstant();
+		this.payment = order.getPayment();
+		this.items = order.getItems();
+		this.total = order.getTotal();
+	}
+
+	public Date getInstant() {
+		return instant;
+	}
+
+	public void setInstant(Date instant) {
+		this.instant = instant;
+	}
+
+	public Payment getPayment() {
+		return payment;
+	}
+
+	public void setPayment(Payment payment) {
+		this.payment = payment;
+	}
+
+	public Set<OrderItem> getItems() {
+		return items;
+	}
+
+	public void setItems(Set<OrderItem> items) {
+		this.items = items;
+	}
+
+	public Double getTotal() {
+		return total;
+	}
+
+	public void setTotal(Double total) {
+		this.total = total;
+	}
+	
+	
+}
@@ -0,0 +1,68 @@
+package com.diogorolins.springprj1.domain.dto;
+
+import java.io.Serializable;
+import java.util.Date;
+
+import com.diogorolins.springprj1.domain.Order;
+import com.diogorolins.springprj1.domain.enums.PaymentStatus;
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+public class OrderStatusDTO implements Serializable{
+	private static final long serialVersionUID = 1L;
+	
+	private Integer orderId;
+	
+	@JsonIgnore
+	private Integer clientId;
+	
+	private PaymentStatus paymentStatus;
+	
+	@JsonFormat(pattern = "dd/MM/yyyy HH:mm")
+	private Date instant;
+	
+	public OrderStatusDTO() {
+		
+	}
+	
+	public OrderStatusDTO(Order order, PaymentStatus paymentStatus) {
+		this.orderId = order.getId();
+		this.clientId = order.getClient().getId();
+		this.paymentStatus = paymentStatus;
+		this.instant = new Date();
+	}
+
+	public Integer getOrderId() {
+		return orderId;
+	}
+
+	public void setOrderId(Integer orderId) {
+		this.orderId = orderId;
+	}
+
+	public Integer getClientId() {
+		return clientId;
+	}
+
+	public void setClientId(Integer clientId) {
+		this.clientId = clientId;
+	}
+
+	public PaymentStatus getPaymentStatus() {
+		return paymentStatus;
+	}
+
+	public void setPaymentStatus(PaymentStatus paymentStatus) {
+		this.paymentStatus = paymentStatus;
+	}
+
+	public Date getInstant() {
+		return instant;
+	}
+
+	public void setInstant(Date instant) {
+		this.instant = instant;
+	}
+	
+	
+}
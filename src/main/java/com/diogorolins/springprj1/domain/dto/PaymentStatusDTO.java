@@ -0,0 +1,59 @@
+package com.diogorolins.springprj1.domain.dto;
+
+import java.io.Serializable;
+
+import com.diogorolins.springprj1.domain.enums.PaymentStatus;
+
+public class PaymentStatusDTO implements Serializable{
+	private static final long serialVersionUID = 1L;
+	
+	private Integer id;
+	private String paymentType;
+	private PaymentStatus paymentStatus;
+	private Long count;
+	
+	public PaymentStatusDTO() {
+		
+	}
+	
+	public PaymentStatusDTO(Integer id, String paymentType, PaymentStatus paymentStatus, Long count) {
+		this.id = id;
+		this.paymentType = paymentType;
+		this.paymentStatus = paymentStatus;
+		this.count = count;
+	}
+
+	public Integer getId() {
+		return id;
+	}
+
+	public void setId(Integer id) {
+		this.id = id;
+	}
+
+	public String getPaymentType() {
+		return paymentType;
+	}
+
+	public void setPaymentType(String paymentType) {
+		this.paymentType = paymentType;
+	}
+
+	public PaymentStatus getPaymentStatus() {
+		return paymentStatus;
+	}
+
+	public void setPaymentStatus(PaymentStatus paymentStatus) {
+		this.paymentStatus = paymentStatus;
+	}
+
+	public Long getCount() {
+		return count;
+	}
+
+	public void setCount(Long count) {
+		this.count = count;
+	}
+	
+	
+}
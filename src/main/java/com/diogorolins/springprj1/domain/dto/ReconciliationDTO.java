@@ -0,0 +1,59 @@
+package com.diogorolins.springprj1.domain.dto;
+
+import java.io.Serializable;
+
+public class ReconciliationDTO implements Serializable{
+	private static final long serialVersionUID = 1L;
+	
+	private Integer lines = 0;
+	private Integer paid = 0;
+	private Integer ignored = 0;
+	private Integer rejected = 0;
+	private Long elapsed = 0L;
+	
+	public ReconciliationDTO() {
+		
+	}
+
+	public Integer getLines() {
+		return lines;
+	}
+
+	public void setLines(Integer lines) {
+		this.lines = lines;
+	}
+
+	public Integer getPaid() {
+		return paid;
+	}
+
+	public void setPaid(Integer paid) {
+		this.paid = paid;
+	}
+
+	public Integer getIgnored() {
+		return ignored;
+	}
+
+	public void setIgnored(Integer ignored) {
+		this.ignored = ignored;
+	}
+
+	public Integer getRejected() {
+		return rejected;
+	}
+
+	public void setRejected(Integer rejected) {
+		this.rejected = rejected;
+	}
+
+	public Long getElapsed() {
+		return elapsed;
+	}
+
+	public void setElapsed(Long elapsed) {
+		this.elapsed = elapsed;
+	}
+	
+	
+}
@@ -0,0 +1,85 @@
+package com.diogorolins.springprj1.domain.dto;
+
+import java.io.Serializable;
+import java.util.Date;
+
+import com.diogorolins.springprj1.domain.SalesRollup;
+import com.fasterxml.jackson.annotation.JsonFormat;
+
+public class SalesRollupDTO implements Serializable{
+	private static final long serialVersionUID = 1L;
+	
+	@JsonFormat(pattern = "dd/MM/yyyy")
+	private Date bucket;
+	private Integer id;
+	private Long orders = 0L;
+	private Long units = 0L;
+	private Double revenue = 0.0;
+	private Double paidRevenue = 0.0;
+	
+	public SalesRollupDTO() {
+		
+	}
+	
+	public SalesRollupDTO(Date bucket, Integer id) {
+		this.bucket = bucket;
+		this.id = id;
+	}
+	
+	public void add(SalesRollup obj) {
+		orders += obj.getOrders();
+		units += obj.getUnits();
+		revenue += obj.getRevenue();
+		paidRevenue += obj.getPaidRevenue();
+	}
+
+	public Date getBucket() {
+		return bucket;
+	}
+
+	public void setBucket(Date bucket) {
+		this.bucket = bucket;
+	}
+
+	public Integer getId() {
+		return id;
+	}
+
+	public void setId(Integer id) {
+		this.id = id;
+	}
+
+	public Long getOrders() {
+		return orders;
+	}
+
+	public void setOrders(Long orders) {
+		this.orders = orders;
+	}
+
+	public Long getUnits() {
+		return units;
+	}
+
+	public void setUnits(Long units) {
+		this.units = units;
+	}
+
+	public Double getRevenue() {
+		return revenue;
+	}
+
+	public void setRevenue(Double revenue) {
+		this.revenue = revenue;
+	}
+
+	public Double getPaidRevenue() {
+		return paidRevenue;
+	}
+
+	public void setPaidRevenue(Double paidRevenue) {
+		this.paidRevenue = paidRevenue;
+	}
+	
+	
+}
@@ -0,0 +1,10 @@
+package com.diogorolins.springprj1.domain.enums;
+
+public enum LineDimension {
+	
+	PRODUCT, 
+	CLIENT, 
+	STATE, 
+	DAY, 
+	ORDER;
+}
@@ -20,6 +20,10 @@ public enum Roles {
 	public String getDesc() {
 		return desc;
 	}
+	
+	public int getMask() {
+		return 1 << (code - 1);
+	}
 
 	public static Roles valueOf(Integer code) {
 		
@@ -0,0 +1,39 @@
+package com.diogorolins.springprj1.domain.enums;
+
+public enum RollupDimension {
+	
+	TOTAL(1, "Total"), 
+	PRODUCT(2, "Produto"), 
+	CATEGORY(3, "Categoria");
+
+	private int code;
+	private String desc;
+
+	private RollupDimension (int code, String desc) {
+		this.code = code;
+		this.desc = desc;
+	}
+
+	public int getCode() {
+		return code;
+	}
+	
+	public String getDesc() {
+		return desc;
+	}
+
+	public static RollupDimension valueOf(Integer code) {
+		
+		if (code == null) {
+			return null;
+		}
+		
+		for (RollupDimension value : RollupDimension.values()) {
+			if (value.getCode() == code) {
+				return value;
+			}
+		}
+		throw new IllegalArgumentException("Invalid dimension code");
+
+	}
+}
@@ -0,0 +1,8 @@
+package com.diogorolins.springprj1.domain.enums;
+
+public enum TimeBucket {
+	
+	DAY, 
+	WEEK, 
+	MONTH;
+}
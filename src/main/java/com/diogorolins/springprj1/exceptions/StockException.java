@@ -0,0 +1,13 @@
+package com.diogorolins.springprj1.exceptions;
+
+public class StockException extends RuntimeException{
+	private static final long serialVersionUID = 1L;
+	
+	public StockException(String msg) {
+		super(msg);
+	}
+	
+	public StockException(String msg, Throwable cause) {
+		super(msg, cause);
+	}
+}
@@ -0,0 +1,13 @@
+package com.diogorolins.springprj1.exceptions;
+
+public class TooManyRequestsException extends RuntimeException{
+	private static final long serialVersionUID = 1L;
+	
+	public TooManyRequestsException(String msg) {
+		super(msg);
+	}
+	
+	public TooManyRequestsException(String msg, Throwable cause) {
+		super(msg, cause);
+	}
+}
@@ -0,0 +1,169 @@
+package com.diogorolins.springprj1.filter;
+
+import java.io.IOException;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import javax.annotation.PostConstruct;
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+import javax.servlet.Filter;
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.ServletRequest;
+import javax.servlet.ServletResponse;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+/*
+ * Caps in-flight requests per route group with an AIMD limit: each request
+ * under the group's latency target grows the limit by 1/limit, each one over
+ * it shrinks the limit by the backoff factor. Runs ahead of the security
+ * chain so shed requests never reach token lookups or JPA.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class ConcurrencyLimitFilter implements Filter {
+
+	private static final String STREAM_PATH = "/orders/stream";
+
+	@Autowired
+	private Environment env;
+
+	@Value("${concurrency.initial}")
+	private Integer initial;
+
+	@Value("${concurrency.min}")
+	private Integer min;
+
+	@Value("${concurrency.max}")
+	private Integer max;
+
+	@Value("${concurrency.backoff}")
+	private Double backoff;
+
+	private Map<String, Limiter> limiters = new LinkedHashMap<>();
+
+	@PostConstruct
+	public void init() {
+		for (String group : RouteGroups.NAMES) {
+			limiters.put(group, new Limiter(initial, env.getRequiredProperty("concurrency." + group + ".latency", Long.class)));
+		}
+	}
+
+	@Override
+	public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain)
+			throws IOException, ServletException {
+		HttpServletRequest req = (HttpServletRequest) request;
+		Limiter limiter = limiters.get(RouteGroups.of(req.getRequestURI()));
+		if (!limiter.tryAcquire()) {
+			HttpServletResponse res = (HttpServletResponse) response;
+			res.setStatus(503);
+			res.setHeader("Retry-After", "1");
+			res.setContentType("application/json");
+			res.getWriter().append("{\"timestamp\": " + new Date().getTime() + ", \"status\": 503, "
+					+ "\"error\": \"Serviço indisponível\", \"message\": \"Servidor sobrecarregado, tente novamente\", "
+					+ "\"path\": \"" + req.getRequestURI() + "\"}");
+			return;
+		}
+		long start = System.nanoTime();
+		try {
+			chain.doFilter(request, response);
+		} catch (IOException | ServletException | RuntimeException e) {
+			limiter.release(elapsed(start), true);
+			throw e;
+		}
+		if (!req.isAsyncStarted()) {
+			limiter.release(elapsed(start), false);
+		} else if (STREAM_PATH.equals(req.getRequestURI())) {
+			// The order stream stays open for minutes; it is capped by stream.max-per-client instead.
+			limiter.release(-1, false);
+		} else {
+			req.getAsyncContext().addListener(new AsyncRelease(limiter, start));
+		}
+	}
+
+	private static long elapsed(long start) {
+		return (System.nanoTime() - start) / 1000000;
+	}
+
+	// Holds the permit of an async request (checkout, uploads) until the container completes it.
+	private static class AsyncRelease implements AsyncListener {
+
+		private final Limiter limiter;
+		private final long start;
+		private final AtomicBoolean released = new AtomicBoolean();
+
+		AsyncRelease(Limiter limiter, long start) {
+			this.limiter = limiter;
+			this.start = start;
+		}
+
+		private void release(boolean failed) {
+			if (released.compareAndSet(false, true)) {
+				limiter.release(elapsed(start), failed);
+			}
+		}
+
+		@Override
+		public void onComplete(AsyncEvent event) {
+			release(false);
+		}
+
+		@Override
+		public void onTimeout(AsyncEvent event) {
+			release(true);
+		}
+
+		@Override
+		public void onError(AsyncEvent event) {
+			release(true);
+		}
+
+		@Override
+		public void onStartAsync(AsyncEvent event) {
+			event.getAsyncContext().addListener(this);
+		}
+	}
+
+	private class Limiter {
+
+		private final long latency;
+		private double limit;
+		private int inFlight;
+
+		Limiter(int limit, long latency) {
+			this.limit = limit;
+			this.latency = latency;
+		}
+
+		synchronized boolean tryAcquire() {
+			if (inFlight >= (int) limit) {
+				return false;
+			}
+			inFlight++;
+			return true;
+		}
+
+		synchronized void release(long elapsed, boolean failed) {
+			inFlight--;
+			if (elapsed < 0) {
+				return;
+			}
+			if (failed || elapsed > latency) {
+				limit = Math.max(min, limit * backoff);
+			} else if (inFlight + 1 >= (int) limit / 2) {
+				limit = Math.min(max, limit + 1 / limit);
+			}
+		}
+	}
+}
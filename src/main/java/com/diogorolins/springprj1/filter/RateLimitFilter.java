@@ -0,0 +1,95 @@
+package com.diogorolins.springprj1.filter;
+
+import java.io.IOException;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import javax.annotation.PostConstruct;
+import javax.servlet.Filter;
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.ServletRequest;
+import javax.servlet.ServletResponse;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+
+import com.diogorolins.springprj1.security.UserSS;
+import com.diogorolins.springprj1.utils.TokenBuckets;
+
+/*
+ * Token buckets per route group, keyed by the authenticated client id or by
+ * the remote address for anonymous calls. Runs after the security chain so
+ * the principal is already resolved from the token.
+ */
+@Component
+public class RateLimitFilter implements Filter {
+
+	private static final int STRIPES = 64;
+
+	@Autowired
+	private Environment env;
+
+	@Value("${ratelimit.size}")
+	private Integer size;
+
+	private Map<String, Limit> limits = new LinkedHashMap<>();
+
+	private TokenBuckets buckets;
+
+	@PostConstruct
+	public void init() {
+		for (String group : RouteGroups.NAMES) {
+			limits.put(group, new Limit(group, env.getRequiredProperty("ratelimit." + group + ".capacity", Integer.class),
+					env.getRequiredProperty("ratelimit." + group + ".refill", Long.class)));
+		}
+		buckets = new TokenBuckets(STRIPES, size);
+	}
+
+	@Override
+	public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain)
+			throws IOException, ServletException {
+		HttpServletRequest req = (HttpServletRequest) request;
+		Limit limit = limits.get(RouteGroups.of(req.getRequestURI()));
+		long wait = buckets.tryAcquire(limit.group + ":" + subject(req), limit.capacity, limit.refill, System.currentTimeMillis());
+		if (wait > 0) {
+			HttpServletResponse res = (HttpServletResponse) response;
+			res.setStatus(429);
+			res.setHeader("Retry-After", String.valueOf((wait + 999) / 1000));
+			res.setContentType("application/json");
+			res.getWriter().append("{\"timestamp\": " + new Date().getTime() + ", \"status\": 429, "
+					+ "\"error\": \"Muitas requisições\", \"message\": \"Limite de requisições excedido\", "
+					+ "\"path\": \"" + req.getRequestURI() + "\"}");
+			return;
+		}
+		chain.doFilter(request, response);
+	}
+
+	private String subject(HttpServletRequest req) {
+		Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+		if (auth != null && auth.getPrincipal() instanceof UserSS) {
+			return "u" + ((UserSS) auth.getPrincipal()).getId();
+		}
+		return req.getRemoteAddr();
+	}
+
+	private static class Limit {
+
+		private final String group;
+		private final int capacity;
+		private final long refill;
+
+		Limit(String group, int capacity, long refill) {
+			this.group = group;
+			this.capacity = capacity;
+			this.refill = refill;
+		}
+	}
+}
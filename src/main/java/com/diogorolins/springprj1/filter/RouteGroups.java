@@ -0,0 +1,39 @@
+package com.diogorolins.springprj1.filter;
+
+/*
+ * Maps request paths to the route groups used for per-group limits. Follows
+ * the resource split in SecurityConfig: public catalog reads, order and
+ * payment flows, admin-only reporting and anonymous gateway webhooks. The
+ * first matching prefix wins, so narrower prefixes come first.
+ */
+class RouteGroups {
+
+	static final String[] NAMES = { "catalog", "orders", "admin", "webhooks", "default" };
+
+	private static final String[][] GROUPS = {
+			{ "/products", "catalog" },
+			{ "/categories", "catalog" },
+			{ "/states", "catalog" },
+			{ "/orders", "orders" },
+			{ "/payments/webhooks", "webhooks" },
+			{ "/payments/reconciliation", "admin" },
+			{ "/payments/counts", "admin" },
+			{ "/payments/expiry", "admin" },
+			{ "/payments/", "orders" },
+			{ "/payments", "admin" },
+			{ "/analytics", "admin" },
+			{ "/sales", "admin" }
+	};
+
+	private RouteGroups() {
+	}
+
+	static String of(String uri) {
+		for (String[] group : GROUPS) {
+			if (uri.startsWith(group[0])) {
+				return group[1];
+			}
+		}
+		return "default";
+	}
+}
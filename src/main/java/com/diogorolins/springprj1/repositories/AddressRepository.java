@@ -1,5 +1,7 @@
 package com.diogorolins.springprj1.repositories;
 
+import java.util.Optional;
+
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
@@ -14,4 +16,12 @@ public interface AddressRepository extends JpaRepository<Address, Integer>{
 	@Modifying
 	@Query("DELETE FROM Address obj WHERE obj.client.id = :clientId")
 	public void deletebyClient(@Param("clientId") Integer clientId);
+	
+	@Transactional(readOnly = true)
+	@Query("SELECT obj FROM Address obj "
+			+ "INNER JOIN FETCH obj.client "
+			+ "INNER JOIN FETCH obj.city city "
+			+ "INNER JOIN FETCH city.state "
+			+ "WHERE obj.id = :id")
+	public Optional<Address> findFull(@Param("id") Integer id);
 }
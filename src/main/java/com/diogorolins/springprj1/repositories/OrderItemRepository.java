@@ -1,9 +1,27 @@
 package com.diogorolins.springprj1.repositories;
 
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.diogorolins.springprj1.domain.OrderItem;
 
 public interface OrderItemRepository extends JpaRepository<OrderItem, Integer>{
 
+	@Transactional(readOnly = true)
+	@Query("SELECT obj.id, prod.id, cli.id, st.id, obj.instant, item.quantity, item.price, item.discount "
+			+ "FROM OrderItem item "
+			+ "INNER JOIN item.id.order obj "
+			+ "INNER JOIN item.id.product prod "
+			+ "INNER JOIN obj.client cli "
+			+ "INNER JOIN obj.address adr "
+			+ "INNER JOIN adr.city city "
+			+ "INNER JOIN city.state st "
+			+ "WHERE obj.id > :orderId OR (obj.id = :orderId AND prod.id > :productId) "
+			+ "ORDER BY obj.id, prod.id")
+	public List<Object[]> findLinesAfter(@Param("orderId") Integer orderId, @Param("productId") Integer productId, Pageable pageable);
 }
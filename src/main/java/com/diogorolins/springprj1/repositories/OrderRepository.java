@@ -1,13 +1,43 @@
 package com.diogorolins.springprj1.repositories;
 
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
-import com.diogorolins.springprj1.domain.Client;
 import com.diogorolins.springprj1.domain.Order;
 
 public interface OrderRepository extends JpaRepository<Order, Integer>{
 
-	Page<Order> findByClient(Client client, Pageable page);
+	@Transactional(readOnly = true)
+	@Query(value = "SELECT obj.id FROM Order obj WHERE obj.client.id = :clientId", 
+			countQuery = "SELECT COUNT(obj) FROM Order obj WHERE obj.client.id = :clientId")
+	public Page<Integer> findIdsByClientId(@Param("clientId") Integer clientId, Pageable page);
+	
+	@Transactional(readOnly = true)
+	@Query("SELECT DISTINCT obj FROM Order obj "
+			+ "LEFT JOIN FETCH obj.items item "
+			+ "LEFT JOIN FETCH item.id.product "
+			+ "LEFT JOIN FETCH obj.payment "
+			+ "LEFT JOIN FETCH obj.address "
+			+ "LEFT JOIN FETCH obj.client "
+			+ "WHERE obj.id IN :ids")
+	public List<Order> findFullByIdIn(@Param("ids") List<Integer> ids);
+	
+	@Transactional(readOnly = true)
+	@Query("SELECT obj.id FROM Order obj WHERE obj.instant < :cutoff ORDER BY obj.id")
+	public List<Integer> findIdsBefore(@Param("cutoff") Date cutoff, Pageable page);
+	
+	@Transactional(readOnly = true)
+	@Query("SELECT obj.id FROM Order obj WHERE obj.id IN :ids")
+	public List<Integer> findIdsByIdIn(@Param("ids") List<Integer> ids);
+	
+	@Transactional(readOnly = true)
+	public Optional<Order> findByClientIdAndIdempotencyKey(Integer clientId, String idempotencyKey);
 }
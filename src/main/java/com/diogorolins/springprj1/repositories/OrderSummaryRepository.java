@@ -0,0 +1,29 @@
+package com.diogorolins.springprj1.repositories;
+
+import java.util.List;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.diogorolins.springprj1.domain.OrderSummary;
+
+public interface OrderSummaryRepository extends JpaRepository<OrderSummary, Integer>{
+
+	@Transactional(readOnly = true)
+	Page<OrderSummary> findByClientId(Integer clientId, Pageable page);
+
+	@Transactional
+	@Modifying
+	@Query("UPDATE OrderSummary obj SET obj.paymentStatus = :status WHERE obj.id = :id")
+	public int updatePaymentStatus(@Param("id") Integer id, @Param("status") Integer status);
+	
+	@Transactional
+	@Modifying
+	@Query("UPDATE OrderSummary obj SET obj.paymentStatus = :status WHERE obj.id IN :ids")
+	public int updatePaymentStatusIn(@Param("ids") List<Integer> ids, @Param("status") Integer status);
+}
@@ -0,0 +1,24 @@
+package com.diogorolins.springprj1.repositories;
+
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.diogorolins.springprj1.domain.PaymentEvent;
+
+public interface PaymentEventRepository extends JpaRepository<PaymentEvent, Long>{
+
+	@Transactional(readOnly = true)
+	@Query("SELECT obj FROM PaymentEvent obj WHERE obj.processed = false ORDER BY obj.id")
+	public List<PaymentEvent> findPending(Pageable page);
+	
+	@Transactional
+	@Modifying
+	@Query("UPDATE PaymentEvent obj SET obj.processed = true WHERE obj.id IN :ids")
+	public int markProcessed(@Param("ids") List<Long> ids);
+}
@@ -1,9 +1,59 @@
 package com.diogorolins.springprj1.repositories;
 
+import java.util.Date;
+import java.util.List;
+
+import javax.persistence.LockModeType;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.diogorolins.springprj1.domain.Payment;
 
 public interface PaymentRepository extends JpaRepository<Payment, Integer>{
 
+	@Transactional(readOnly = true)
+	@Query(value = "SELECT order_id, payment_type, payment_status FROM tb_payment WHERE payment_status = :status ORDER BY order_id DESC", 
+			countQuery = "SELECT COUNT(*) FROM tb_payment WHERE payment_status = :status", 
+			nativeQuery = true)
+	public Page<Object[]> findStatusByStatus(@Param("status") Integer status, Pageable page);
+	
+	@Transactional(readOnly = true)
+	@Query(value = "SELECT payment_status, payment_type, COUNT(*) FROM tb_payment GROUP BY payment_status, payment_type", 
+			nativeQuery = true)
+	public List<Object[]> countByStatusAndType();
+
+	@Transactional(readOnly = true)
+	@Query("SELECT obj.id FROM PaymentBoleto obj "
+			+ "WHERE obj.paymentStatus = :status "
+			+ "AND obj.dueDate < :dueDate "
+			+ "AND obj.id > :lastId "
+			+ "ORDER BY obj.id")
+	public List<Integer> findBoletoIdsDueBefore(@Param("status") Integer status, @Param("dueDate") Date dueDate, 
+			@Param("lastId") Integer lastId, Pageable page);
+	
+	@Transactional
+	@Lock(LockModeType.PESSIMISTIC_WRITE)
+	@Query("SELECT obj.id FROM PaymentBoleto obj WHERE obj.id IN :ids AND obj.paymentStatus = :status")
+	public List<Integer> lockBoletoIdsByStatus(@Param("ids") List<Integer> ids, @Param("status") Integer status);
+	
+	@Transactional
+	@Query(value = "SELECT order_id FROM tb_payment WHERE order_id IN (:ids) AND payment_status = :status FOR UPDATE", nativeQuery = true)
+	public List<Integer> lockIdsByStatus(@Param("ids") List<Integer> ids, @Param("status") Integer status);
+	
+	@Transactional
+	@Modifying
+	@Query(value = "UPDATE tb_payment SET payment_status = :status WHERE order_id IN (:ids)", nativeQuery = true)
+	public int updateStatusIn(@Param("ids") List<Integer> ids, @Param("status") Integer status);
+	
+	@Transactional
+	@Modifying
+	@Query(value = "UPDATE payment_boleto SET payment_date = :paymentDate WHERE order_id IN (:ids)", nativeQuery = true)
+	public int updatePaymentDateIn(@Param("ids") List<Integer> ids, @Param("paymentDate") Date paymentDate);
 }
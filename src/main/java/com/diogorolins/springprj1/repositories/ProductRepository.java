@@ -20,4 +20,8 @@ public interface ProductRepository extends JpaRepository<Product, Integer>{
 			+ "WHERE obj.name LIKE %:name% "
 			+ "AND cat IN :categories")
 	public Page<Product> search(@Param("name") String name, @Param("categories") List<Category> categories, Pageable pageRequest);
+	
+	@Transactional(readOnly = true)
+	@Query("SELECT DISTINCT obj FROM Product obj LEFT JOIN FETCH obj.categories WHERE obj.id IN :ids")
+	public List<Product> findWithCategories(@Param("ids") List<Integer> ids);
 }
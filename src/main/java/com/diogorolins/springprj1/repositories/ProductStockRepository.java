@@ -0,0 +1,17 @@
+package com.diogorolins.springprj1.repositories;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.diogorolins.springprj1.domain.ProductStock;
+
+public interface ProductStockRepository extends JpaRepository<ProductStock, Integer>{
+
+	@Transactional
+	@Modifying
+	@Query("UPDATE ProductStock obj SET obj.quantity = obj.quantity + :delta WHERE obj.productId = :productId")
+	public int addQuantity(@Param("productId") Integer productId, @Param("delta") Integer delta);
+}
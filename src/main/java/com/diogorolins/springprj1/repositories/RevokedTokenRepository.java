@@ -0,0 +1,23 @@
+package com.diogorolins.springprj1.repositories;
+
+import java.util.Date;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.diogorolins.springprj1.domain.RevokedToken;
+
+public interface RevokedTokenRepository extends JpaRepository<RevokedToken, Long>{
+
+	@Transactional(readOnly = true)
+	public List<RevokedToken> findByRevokedAtGreaterThanEqual(Date revokedAt);
+	
+	@Transactional
+	@Modifying
+	@Query("DELETE FROM RevokedToken obj WHERE obj.expiresAt < :now")
+	public int deleteExpired(@Param("now") Date now);
+}
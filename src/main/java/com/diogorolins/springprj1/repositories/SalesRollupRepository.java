@@ -0,0 +1,36 @@
+package com.diogorolins.springprj1.repositories;
+
+import java.util.Date;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.diogorolins.springprj1.domain.SalesRollup;
+import com.diogorolins.springprj1.domain.SalesRollupPK;
+
+public interface SalesRollupRepository extends JpaRepository<SalesRollup, SalesRollupPK>{
+
+	@Transactional
+	@Modifying
+	@Query("UPDATE SalesRollup obj SET obj.orders = obj.orders + :orders, "
+			+ "obj.units = obj.units + :units, "
+			+ "obj.revenue = obj.revenue + :revenue, "
+			+ "obj.paidRevenue = obj.paidRevenue + :paidRevenue "
+			+ "WHERE obj.id.dimension = :dimension "
+			+ "AND obj.id.dimensionId = :dimensionId "
+			+ "AND obj.id.day = :day")
+	public int addTotals(@Param("dimension") Integer dimension, @Param("dimensionId") Integer dimensionId, 
+			@Param("day") Date day, @Param("orders") Long orders, @Param("units") Long units, 
+			@Param("revenue") Double revenue, @Param("paidRevenue") Double paidRevenue);
+	
+	@Transactional(readOnly = true)
+	@Query("SELECT obj FROM SalesRollup obj "
+			+ "WHERE obj.id.dimension = :dimension "
+			+ "AND obj.id.day BETWEEN :from AND :to "
+			+ "ORDER BY obj.id.day, obj.id.dimensionId")
+	public List<SalesRollup> findRange(@Param("dimension") Integer dimension, @Param("from") Date from, @Param("to") Date to);
+}
@@ -0,0 +1,46 @@
+package com.diogorolins.springprj1.resources;
+
+import java.util.Date;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.diogorolins.springprj1.domain.dto.AnalyticsRowDTO;
+import com.diogorolins.springprj1.domain.enums.LineDimension;
+import com.diogorolins.springprj1.services.AnalyticsService;
+
+@RestController
+@RequestMapping(value = "/analytics")
+public class AnalyticsResource {
+	
+	@Autowired
+	private AnalyticsService service;
+	
+	@PreAuthorize("hasAnyRole('ADMIN')")
+	@RequestMapping(method = RequestMethod.GET, value = "/lines")
+	public ResponseEntity<List<AnalyticsRowDTO>> groupBy(
+				@RequestParam(value = "groupBy", defaultValue = "PRODUCT") LineDimension groupBy, 
+				@RequestParam(value = "from", required = false) @DateTimeFormat(pattern = "dd/MM/yyyy") Date from, 
+				@RequestParam(value = "to", required = false) @DateTimeFormat(pattern = "dd/MM/yyyy") Date to, 
+				@RequestParam(value = "product", required = false) Integer product, 
+				@RequestParam(value = "state", required = false) Integer state, 
+				@RequestParam(value = "client", required = false) Integer client) {
+		return ResponseEntity.ok().body(service.groupBy(groupBy, from, to, product, state, client));
+	}
+	
+	@PreAuthorize("hasAnyRole('ADMIN')")
+	@RequestMapping(method = RequestMethod.GET, value = "/basket-sizes")
+	public ResponseEntity<List<AnalyticsRowDTO>> basketSizes(
+				@RequestParam(value = "from", required = false) @DateTimeFormat(pattern = "dd/MM/yyyy") Date from, 
+				@RequestParam(value = "to", required = false) @DateTimeFormat(pattern = "dd/MM/yyyy") Date to, 
+				@RequestParam(value = "state", required = false) Integer state) {
+		return ResponseEntity.ok().body(service.basketSizes(from, to, state));
+	}
+}
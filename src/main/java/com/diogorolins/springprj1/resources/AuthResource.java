@@ -5,17 +5,24 @@ import javax.validation.Valid;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.diogorolins.springprj1.domain.dto.EmailDTO;
+import com.diogorolins.springprj1.domain.dto.LoginThrottleDTO;
 import com.diogorolins.springprj1.security.JWTUtil;
+import com.diogorolins.springprj1.security.LoginThrottle;
 import com.diogorolins.springprj1.security.UserSS;
 import com.diogorolins.springprj1.services.AuthService;
+import com.diogorolins.springprj1.services.TokenRevocationService;
 import com.diogorolins.springprj1.services.UserService;
 
+import io.jsonwebtoken.Claims;
+
 @RestController
 @RequestMapping(value = "/auth")
 public class AuthResource {
@@ -26,19 +33,47 @@ public class AuthResource {
 	@Autowired
 	private AuthService service;
 	
+	@Autowired
+	private LoginThrottle loginThrottle;
+	
+	@Autowired
+	private TokenRevocationService revocationService;
 
 	@RequestMapping(value = "/refresh_token", method = RequestMethod.POST)
-	public ResponseEntity<Void> refreshToken(HttpServletResponse response) {
+	public ResponseEntity<Void> refreshToken(@RequestHeader("Authorization") String header, HttpServletResponse response) {
 		UserSS user = UserService.authenticated();
-		String token = jwtUtil.generateToken(user.getUsername());
+		String token = jwtUtil.generateToken(user);
+		revoke(header);
 		response.addHeader("Authorization", "Bearer " + token);
 		response.addHeader("access-control-expose-headers", "Authorization");
 		return ResponseEntity.noContent().build();
 	}
 	
+	@RequestMapping(value = "/logout", method = RequestMethod.POST)
+	public ResponseEntity<Void> logout(@RequestHeader("Authorization") String header) {
+		revoke(header);
+		return ResponseEntity.noContent().build();
+	}
+	
+	private void revoke(String header) {
+		if (header == null || !header.startsWith("Bearer ")) {
+			return;
+		}
+		Claims claims = jwtUtil.getValidClaims(header.substring(7));
+		if(claims != null) {
+			revocationService.revokeToken(claims);
+		}
+	}
+	
 	@RequestMapping(value = "/forgot", method = RequestMethod.POST)
 	public ResponseEntity<Void> forgot(@Valid @RequestBody EmailDTO objDto) {
 		service.sendNewPassword(objDto.getEmail());
 		return ResponseEntity.noContent().build();
 	}
+	
+	@PreAuthorize("hasAnyRole('ADMIN')")
+	@RequestMapping(value = "/throttle", method = RequestMethod.GET)
+	public ResponseEntity<LoginThrottleDTO> throttle() {
+		return ResponseEntity.ok().body(loginThrottle.stats());
+	}
 }
@@ -7,6 +7,9 @@ import java.util.stream.Collectors;
 import javax.validation.Valid;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.AsyncTaskExecutor;
 import org.springframework.data.domain.Page;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -16,6 +19,7 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.WebAsyncTask;
 import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
@@ -32,6 +36,13 @@ public class ClientResource {
 	
 	@Autowired
 	private ClientService service;
+	
+	@Autowired
+	@Qualifier("uploadExecutor")
+	private AsyncTaskExecutor uploadExecutor;
+	
+	@Value("${upload.timeout}")
+	private Long uploadTimeout;
 
 	@RequestMapping(method = RequestMethod.GET, value = "/{id}")
 	public ResponseEntity<Client> findById(@PathVariable Integer id) {
@@ -95,8 +106,10 @@ public class ClientResource {
 	}
 	
 	@RequestMapping(method = RequestMethod.POST, value = "/picture")
-	public ResponseEntity<Void> uploadProfilePicture(@RequestParam(name = "file") MultipartFile file){
-		URI uri = service.uploadProfilePicture(file);
-		return ResponseEntity.created(uri).build();
+	public WebAsyncTask<ResponseEntity<Void>> uploadProfilePicture(@RequestParam(name = "file") MultipartFile file){
+		return new WebAsyncTask<>(uploadTimeout, uploadExecutor, () -> {
+			URI uri = service.uploadProfilePicture(file);
+			return ResponseEntity.created(uri).build();
+		});
 	}
 }
@@ -5,18 +5,30 @@ import java.net.URI;
 import javax.validation.Valid;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.AsyncTaskExecutor;
 import org.springframework.data.domain.Page;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.WebAsyncTask;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+import org.springframework.web.util.UriComponentsBuilder;
 
 import com.diogorolins.springprj1.domain.Order;
+import com.diogorolins.springprj1.domain.OrderSummary;
+import com.diogorolins.springprj1.domain.dto.OrderQuoteDTO;
 import com.diogorolins.springprj1.services.OrderService;
+import com.diogorolins.springprj1.services.OrderStreamService;
+import com.diogorolins.springprj1.services.OrderSummaryService;
 
 @RestController
 @RequestMapping(value = "/orders")
@@ -24,6 +36,19 @@ public class OrderResource {
 	
 	@Autowired
 	private OrderService service;
+	
+	@Autowired
+	private OrderSummaryService summaryService;
+	
+	@Autowired
+	private OrderStreamService streamService;
+	
+	@Autowired
+	@Qualifier("checkoutExecutor")
+	private AsyncTaskExecutor checkoutExecutor;
+	
+	@Value("${checkout.timeout}")
+	private Long checkoutTimeout;
 
 	@RequestMapping(method = RequestMethod.GET, value = "/{id}")
 	public ResponseEntity<Order> findById(@PathVariable Integer id) {
@@ -31,12 +56,31 @@ public class OrderResource {
 	}
 	
 	@RequestMapping(method = RequestMethod.POST)
-	public ResponseEntity<Order> insert(@Valid @RequestBody Order obj){
-	    obj = service.insert(obj);	 
-		URI uri = ServletUriComponentsBuilder
-				.fromCurrentRequest().path("/{id}")
-				.buildAndExpand(obj.getId()).toUri();
-		return ResponseEntity.created(uri).body(obj);
+	public WebAsyncTask<ResponseEntity<Order>> insert(@Valid @RequestBody Order obj, 
+				@RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey){
+		UriComponentsBuilder uriBuilder = ServletUriComponentsBuilder
+				.fromCurrentRequest().path("/{id}");
+		return new WebAsyncTask<>(checkoutTimeout, checkoutExecutor, () -> {
+			Order order = service.insert(obj, idempotencyKey);
+			URI uri = uriBuilder.buildAndExpand(order.getId()).toUri();
+			return ResponseEntity.created(uri).body(order);
+		});
+	}
+	
+	@RequestMapping(method = RequestMethod.POST, value = "/quote")
+	public ResponseEntity<OrderQuoteDTO> quote(@Valid @RequestBody Order obj) {
+		return ResponseEntity.ok().body(service.quote(obj));
+	}
+	
+	@RequestMapping(method = RequestMethod.GET, value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+	public SseEmitter stream() {
+		return streamService.subscribe();
+	}
+	
+	@RequestMapping(method = RequestMethod.POST, value = "/{id}/cancel")
+	public ResponseEntity<Void> cancel(@PathVariable Integer id) {
+		service.cancel(id);
+		return ResponseEntity.noContent().build();
 	}
 	
 	@RequestMapping(method = RequestMethod.GET)
@@ -49,4 +93,14 @@ public class OrderResource {
 		
 		return ResponseEntity.ok().body(list);
 	}
+	
+	@RequestMapping(method = RequestMethod.GET, value = "/summary")
+	public ResponseEntity<Page<OrderSummary>> findSummaryPage(
+				@RequestParam(value = "page", defaultValue = "0") Integer page, 
+				@RequestParam(value = "linesPerPage", defaultValue = "24") Integer linesPerPage, 
+				@RequestParam(value = "orderBy", defaultValue = "instant") String orderBy, 
+				@RequestParam(value = "direction", defaultValue = "DESC") String direction) {
+		Page<OrderSummary> list = summaryService.findPage(page, linesPerPage, orderBy, direction);
+		return ResponseEntity.ok().body(list);
+	}
 }
@@ -0,0 +1,83 @@
+package com.diogorolins.springprj1.resources;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.multipart.MultipartFile;
+
+import com.diogorolins.springprj1.domain.Payment;
+import com.diogorolins.springprj1.domain.dto.BoletoExpiryDTO;
+import com.diogorolins.springprj1.domain.dto.PaymentStatusDTO;
+import com.diogorolins.springprj1.domain.dto.ReconciliationDTO;
+import com.diogorolins.springprj1.domain.enums.PaymentStatus;
+import com.diogorolins.springprj1.services.BoletoExpiryService;
+import com.diogorolins.springprj1.services.PaymentService;
+import com.diogorolins.springprj1.services.PaymentWebhookService;
+import com.diogorolins.springprj1.services.ReconciliationService;
+
+@RestController
+@RequestMapping(value = "/payments")
+public class PaymentResource {
+	
+	@Autowired
+	private PaymentService service;
+	
+	@Autowired
+	private ReconciliationService reconciliationService;
+	
+	@Autowired
+	private PaymentWebhookService webhookService;
+	
+	@Autowired
+	private BoletoExpiryService expiryService;
+	
+	@RequestMapping(method = RequestMethod.GET, value = "/{id}")
+	public ResponseEntity<Payment> findById(@PathVariable Integer id) {
+		return ResponseEntity.ok().body(service.findById(id));
+	}
+	
+	@PreAuthorize("hasAnyRole('ADMIN')")
+	@RequestMapping(method = RequestMethod.GET)
+	public ResponseEntity<Page<PaymentStatusDTO>> findStatusPage(
+				@RequestParam(value = "status", defaultValue = "1") Integer status, 
+				@RequestParam(value = "page", defaultValue = "0") Integer page, 
+				@RequestParam(value = "linesPerPage", defaultValue = "24") Integer linesPerPage) {
+		return ResponseEntity.ok().body(service.findStatusPage(PaymentStatus.valueOf(status), page, linesPerPage));
+	}
+	
+	@PreAuthorize("hasAnyRole('ADMIN')")
+	@RequestMapping(method = RequestMethod.GET, value = "/counts")
+	public ResponseEntity<List<PaymentStatusDTO>> countByStatus() {
+		return ResponseEntity.ok().body(service.countByStatus());
+	}
+	
+	@PreAuthorize("hasAnyRole('ADMIN')")
+	@RequestMapping(method = RequestMethod.GET, value = "/expiry")
+	public ResponseEntity<BoletoExpiryDTO> expiry() {
+		return ResponseEntity.ok().body(expiryService.stats());
+	}
+	
+	@RequestMapping(method = RequestMethod.POST, value = "/webhooks/{gateway}")
+	public ResponseEntity<Void> webhook(@PathVariable String gateway, 
+				@RequestHeader(value = "X-Webhook-Signature", required = false) String signature, 
+				@RequestBody byte[] body) {
+		webhookService.receive(gateway, signature, body);
+		return ResponseEntity.accepted().build();
+	}
+	
+	@PreAuthorize("hasAnyRole('ADMIN')")
+	@RequestMapping(method = RequestMethod.POST, value = "/reconciliation")
+	public ResponseEntity<ReconciliationDTO> reconcile(@RequestParam(name = "file") MultipartFile file) {
+		return ResponseEntity.ok().body(reconciliationService.reconcile(file));
+	}
+}
@@ -7,6 +7,7 @@ import javax.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
@@ -16,11 +17,13 @@ import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import com.diogorolins.springprj1.domain.Product;
+import com.diogorolins.springprj1.domain.ProductStock;
 import com.diogorolins.springprj1.domain.dto.ProductDTO;
 import com.diogorolins.springprj1.domain.dto.ProductNewDTO;
 import com.diogorolins.springprj1.resources.utils.URL;
 import com.diogorolins.springprj1.services.CategoryService;
 import com.diogorolins.springprj1.services.ProductService;
+import com.diogorolins.springprj1.services.StockService;
 
 @RestController
 @RequestMapping(value = "/products")
@@ -31,6 +34,9 @@ public class ProductResource {
 	
 	@Autowired
 	private CategoryService catService;
+	
+	@Autowired
+	private StockService stockService;
 
 	@RequestMapping(method = RequestMethod.GET, value = "/{id}")
 	public ResponseEntity<ProductNewDTO> findById(@PathVariable Integer id) {
@@ -77,4 +83,17 @@ public class ProductResource {
 		return ResponseEntity.noContent().build();
 	}
 	
+	@RequestMapping(method = RequestMethod.GET, value = "/{id}/stock")
+	public ResponseEntity<ProductStock> findStock(@PathVariable Integer id) {
+		return ResponseEntity.ok().body(stockService.findByProduct(id));
+	}
+	
+	@PreAuthorize("hasAnyRole('ADMIN')")
+	@RequestMapping(method = RequestMethod.PUT, value = "/{id}/stock")
+	public ResponseEntity<ProductStock> updateStock(@Valid @RequestBody ProductStock obj, @PathVariable Integer id) {
+		service.findById(id);
+		obj.setProductId(id);
+		return ResponseEntity.ok().body(stockService.update(obj));
+	}
+	
 }
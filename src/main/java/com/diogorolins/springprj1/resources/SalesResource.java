@@ -0,0 +1,53 @@
+package com.diogorolins.springprj1.resources;
+
+import java.util.Date;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.diogorolins.springprj1.domain.dto.SalesRollupDTO;
+import com.diogorolins.springprj1.domain.enums.RollupDimension;
+import com.diogorolins.springprj1.domain.enums.TimeBucket;
+import com.diogorolins.springprj1.services.SalesRollupService;
+
+@RestController
+@RequestMapping(value = "/sales")
+public class SalesResource {
+	
+	@Autowired
+	private SalesRollupService service;
+	
+	@PreAuthorize("hasAnyRole('ADMIN')")
+	@RequestMapping(method = RequestMethod.GET)
+	public ResponseEntity<List<SalesRollupDTO>> findTotals(
+				@RequestParam(value = "from") @DateTimeFormat(pattern = "dd/MM/yyyy") Date from, 
+				@RequestParam(value = "to") @DateTimeFormat(pattern = "dd/MM/yyyy") Date to, 
+				@RequestParam(value = "bucket", defaultValue = "DAY") TimeBucket bucket) {
+		return ResponseEntity.ok().body(service.find(RollupDimension.TOTAL, from, to, bucket));
+	}
+	
+	@PreAuthorize("hasAnyRole('ADMIN')")
+	@RequestMapping(method = RequestMethod.GET, value = "/products")
+	public ResponseEntity<List<SalesRollupDTO>> findByProduct(
+				@RequestParam(value = "from") @DateTimeFormat(pattern = "dd/MM/yyyy") Date from, 
+				@RequestParam(value = "to") @DateTimeFormat(pattern = "dd/MM/yyyy") Date to, 
+				@RequestParam(value = "bucket", defaultValue = "DAY") TimeBucket bucket) {
+		return ResponseEntity.ok().body(service.find(RollupDimension.PRODUCT, from, to, bucket));
+	}
+	
+	@PreAuthorize("hasAnyRole('ADMIN')")
+	@RequestMapping(method = RequestMethod.GET, value = "/categories")
+	public ResponseEntity<List<SalesRollupDTO>> findByCategory(
+				@RequestParam(value = "from") @DateTimeFormat(pattern = "dd/MM/yyyy") Date from, 
+				@RequestParam(value = "to") @DateTimeFormat(pattern = "dd/MM/yyyy") Date to, 
+				@RequestParam(value = "bucket", defaultValue = "DAY") TimeBucket bucket) {
+		return ResponseEntity.ok().body(service.find(RollupDimension.CATEGORY, from, to, bucket));
+	}
+}
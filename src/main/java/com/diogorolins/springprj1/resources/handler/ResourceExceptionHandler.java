@@ -1,5 +1,7 @@
 package com.diogorolins.springprj1.resources.handler;
 
+import java.util.concurrent.RejectedExecutionException;
+
 import javax.servlet.http.HttpServletRequest;
 
 import org.springframework.http.HttpStatus;
@@ -9,6 +11,7 @@ import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.context.request.async.AsyncRequestTimeoutException;
 
 import com.amazonaws.AmazonClientException;
 import com.amazonaws.AmazonServiceException;
@@ -17,6 +20,8 @@ import com.diogorolins.springprj1.exceptions.AuthorizationException;
 import com.diogorolins.springprj1.exceptions.DatabaseException;
 import com.diogorolins.springprj1.exceptions.FileException;
 import com.diogorolins.springprj1.exceptions.ObjectNotFoundException;
+import com.diogorolins.springprj1.exceptions.StockException;
+import com.diogorolins.springprj1.exceptions.TooManyRequestsException;
 
 @ControllerAdvice
 public class ResourceExceptionHandler {
@@ -41,6 +46,46 @@ public class ResourceExceptionHandler {
 		return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(err);
 	}
 	
+	@ExceptionHandler(StockException.class)
+	public ResponseEntity<StandardError> stock(StockException e, HttpServletRequest request) {
+		StandardError err = new StandardError(System.currentTimeMillis(), 
+				HttpStatus.CONFLICT.value(), 
+				"Estoque insuficiente", 
+				e.getMessage(), 
+				request.getRequestURI());		
+		return ResponseEntity.status(HttpStatus.CONFLICT).body(err);
+	}
+	
+	@ExceptionHandler(TooManyRequestsException.class)
+	public ResponseEntity<StandardError> tooManyRequests(TooManyRequestsException e, HttpServletRequest request) {
+		StandardError err = new StandardError(System.currentTimeMillis(), 
+				HttpStatus.TOO_MANY_REQUESTS.value(), 
+				"Muitas requisições", 
+				e.getMessage(), 
+				request.getRequestURI());		
+		return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).body(err);
+	}
+	
+	@ExceptionHandler(RejectedExecutionException.class)
+	public ResponseEntity<StandardError> rejected(RejectedExecutionException e, HttpServletRequest request) {
+		StandardError err = new StandardError(System.currentTimeMillis(), 
+				HttpStatus.SERVICE_UNAVAILABLE.value(), 
+				"Serviço indisponível", 
+				"Servidor ocupado, tente novamente.", 
+				request.getRequestURI());		
+		return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(err);
+	}
+	
+	@ExceptionHandler(AsyncRequestTimeoutException.class)
+	public ResponseEntity<StandardError> timeout(AsyncRequestTimeoutException e, HttpServletRequest request) {
+		StandardError err = new StandardError(System.currentTimeMillis(), 
+				HttpStatus.SERVICE_UNAVAILABLE.value(), 
+				"Serviço indisponível", 
+				"Tempo de processamento esgotado.", 
+				request.getRequestURI());		
+		return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(err);
+	}
+	
 	@ExceptionHandler(MethodArgumentNotValidException.class)
 	public ResponseEntity<StandardError> validation(MethodArgumentNotValidException e, HttpServletRequest request) {
 		ValidationError err = new ValidationError(System.currentTimeMillis(), 
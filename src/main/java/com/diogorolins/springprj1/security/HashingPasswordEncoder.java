@@ -0,0 +1,79 @@
+package com.diogorolins.springprj1.security;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/*
+ * BCrypt encoder that runs every hash and verification on a bounded executor
+ * sized to the CPU count. When the queue is full the caller gets a
+ * RejectedExecutionException right away instead of piling up hashing work,
+ * and so does a caller whose task does not finish within the timeout.
+ * Hashes with a lower work factor than configured are flagged for upgrade.
+ */
+public class HashingPasswordEncoder implements PasswordEncoder {
+
+	private static final Pattern COST = Pattern.compile("^\\$2[aby]?\\$(\\d\\d)\\$");
+
+	private BCryptPasswordEncoder encoder;
+	
+	private int strength;
+	
+	private AsyncTaskExecutor executor;
+	
+	private long timeout;
+	
+	public HashingPasswordEncoder(int strength, AsyncTaskExecutor executor, long timeout) {
+		this.encoder = new BCryptPasswordEncoder(strength);
+		this.strength = strength;
+		this.executor = executor;
+		this.timeout = timeout;
+	}
+
+	@Override
+	public String encode(CharSequence rawPassword) {
+		return run(() -> encoder.encode(rawPassword));
+	}
+
+	@Override
+	public boolean matches(CharSequence rawPassword, String encodedPassword) {
+		return run(() -> encoder.matches(rawPassword, encodedPassword));
+	}
+
+	@Override
+	public boolean upgradeEncoding(String encodedPassword) {
+		if(encodedPassword == null) {
+			return false;
+		}
+		Matcher matcher = COST.matcher(encodedPassword);
+		return matcher.find() && Integer.parseInt(matcher.group(1)) < strength;
+	}
+	
+	private <T> T run(Callable<T> task) {
+		Future<T> future = executor.submit(task);
+		try {
+			return future.get(timeout, TimeUnit.MILLISECONDS);
+		} catch (InterruptedException e) {
+			future.cancel(true);
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException(e);
+		} catch (ExecutionException e) {
+			if(e.getCause() instanceof RuntimeException) {
+				throw (RuntimeException) e.getCause();
+			}
+			throw new IllegalStateException(e.getCause());
+		} catch (TimeoutException e) {
+			future.cancel(true);
+			throw new RejectedExecutionException("Password hashing timed out", e);
+		}
+	}
+}
@@ -3,6 +3,7 @@ package com.diogorolins.springprj1.security;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Date;
+import java.util.concurrent.RejectedExecutionException;
 
 import javax.servlet.FilterChain;
 import javax.servlet.ServletException;
@@ -10,6 +11,7 @@ import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 
 import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.AuthenticationServiceException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.AuthenticationException;
@@ -24,12 +26,15 @@ public class JWTAuthenticationFilter extends UsernamePasswordAuthenticationFilte
 	private AuthenticationManager authenticationManager;
 
 	private JWTUtil jwtUtil;
+	
+	private LoginThrottle loginThrottle;
 
-	public JWTAuthenticationFilter(AuthenticationManager authenticationManager, JWTUtil jwtUtil) {
+	public JWTAuthenticationFilter(AuthenticationManager authenticationManager, JWTUtil jwtUtil, LoginThrottle loginThrottle) {
 		
 		setAuthenticationFailureHandler(new JWTAuthenticationFailureHandler());
 		this.authenticationManager = authenticationManager;
 		this.jwtUtil = jwtUtil;
+		this.loginThrottle = loginThrottle;
 	}
 
 	@Override
@@ -37,6 +42,7 @@ public class JWTAuthenticationFilter extends UsernamePasswordAuthenticationFilte
 			throws AuthenticationException {
 		try {
 			CredentialsDTO creds = new ObjectMapper().readValue(request.getInputStream(), CredentialsDTO.class);
+			loginThrottle.check(creds.getEmail(), request.getRemoteAddr());
 
 			UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(creds.getEmail(),
 					creds.getPassword(), new ArrayList<>());
@@ -45,14 +51,15 @@ public class JWTAuthenticationFilter extends UsernamePasswordAuthenticationFilte
 			return auth;
 		} catch (IOException e) {
 			throw new RuntimeException(e);
+		} catch (RejectedExecutionException e) {
+			throw new AuthenticationServiceException("Servidor ocupado, tente novamente.", e);
 		}
 	}
 
 	@Override
 	protected void successfulAuthentication(HttpServletRequest request, HttpServletResponse response, FilterChain chain,
 			Authentication authResult) throws IOException, ServletException {
-		String username = ((UserSS) authResult.getPrincipal()).getUsername();
-		String token = jwtUtil.generateToken(username);
+		String token = jwtUtil.generateToken((UserSS) authResult.getPrincipal());
 		response.addHeader("Authorization", "Bearer " + token);
 		response.addHeader("access-control-expose-headers", "Authorization");
 
@@ -63,15 +70,25 @@ public class JWTAuthenticationFilter extends UsernamePasswordAuthenticationFilte
 		@Override
 		public void onAuthenticationFailure(HttpServletRequest request, HttpServletResponse response,
 				AuthenticationException exception) throws IOException, ServletException {
-			response.setStatus(401);
 			response.setContentType("application/json");
-			response.getWriter().append(json());
+			if(exception instanceof LoginThrottledException) {
+				response.setStatus(429);
+				response.getWriter().append(json(429, "Muitas requisições", exception.getMessage()));
+				return;
+			}
+			if(exception instanceof AuthenticationServiceException) {
+				response.setStatus(503);
+				response.getWriter().append(json(503, "Serviço indisponível", exception.getMessage()));
+				return;
+			}
+			response.setStatus(401);
+			response.getWriter().append(json(401, "Não autorizado", "Email ou senha inválidos"));
 		}
 
-		private String json() {
+		private String json(int status, String error, String message) {
 			long date = new Date().getTime();
-			return "{\"timestamp\": " + date + ", " + "\"status\": 401, " + "\"error\": \"Não autorizado\", "
-					+ "\"message\": \"Email ou senha inválidos\", " + "\"path\": \"/login\"}";
+			return "{\"timestamp\": " + date + ", " + "\"status\": " + status + ", " + "\"error\": \"" + error + "\", "
+					+ "\"message\": \"" + message + "\", " + "\"path\": \"/login\"}";
 		}
 	}
 }
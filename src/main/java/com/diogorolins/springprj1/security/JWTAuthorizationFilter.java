@@ -10,21 +10,23 @@ import javax.servlet.http.HttpServletResponse;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.web.authentication.www.BasicAuthenticationFilter;
 
+import com.diogorolins.springprj1.services.TokenRevocationService;
+
+import io.jsonwebtoken.Claims;
+
 public class JWTAuthorizationFilter extends BasicAuthenticationFilter {
 
 	private JWTUtil jwtUtil;
 	
-	private UserDetailsService userDetailsService;
+	private TokenRevocationService revocationService;
 	
 	public JWTAuthorizationFilter(AuthenticationManager authenticationManager, 
-			JWTUtil jwtUtil, UserDetailsService userDetailsService) {
+			JWTUtil jwtUtil, TokenRevocationService revocationService) {
 		super(authenticationManager);
 		this.jwtUtil = jwtUtil;
-		this.userDetailsService = userDetailsService;
+		this.revocationService = revocationService;
 	}
 
 	@Override
@@ -41,9 +43,15 @@ public class JWTAuthorizationFilter extends BasicAuthenticationFilter {
 	}
 
 	private UsernamePasswordAuthenticationToken getAuthentication(String token) {
-		if(jwtUtil.isValid(token)) {
-			String username = jwtUtil.getUsername(token);
-			UserDetails user = userDetailsService.loadUserByUsername(username);
+		Claims claims = jwtUtil.getValidClaims(token);
+		if(claims != null && !revocationService.isRevoked(claims)) {
+			String username = claims.getSubject();
+			Integer id = claims.get("id", Integer.class);
+			Integer roles = claims.get("roles", Integer.class);
+			if(id == null || roles == null) {
+				return null;
+			}
+			UserSS user = new UserSS(id, username, null, roles);
 			return new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities());
 		}
 		return null;
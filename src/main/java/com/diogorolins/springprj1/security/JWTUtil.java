@@ -1,10 +1,19 @@
 package com.diogorolins.springprj1.security;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
 import java.util.Date;
+import java.util.UUID;
+
+import javax.annotation.PostConstruct;
 
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import com.diogorolins.springprj1.utils.StripedLruMap;
+
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
@@ -12,31 +21,73 @@ import io.jsonwebtoken.SignatureAlgorithm;
 @Component
 public class JWTUtil {
 
+	private static final int STRIPES = 16;
+
 	@Value("${jwt.secret}")
 	private String secret;
 	
 	@Value("${jwt.expiration}")
 	private Long expiration;
 	
-	public String generateToken(String username) {
+	@Value("${jwt.token.cache.size}")
+	private Integer cacheSize;
+	
+	private StripedLruMap<String, Claims> verified;
+	
+	@PostConstruct
+	public void init() {
+		verified = new StripedLruMap<>(STRIPES, cacheSize);
+	}
+	
+	public String generateToken(UserSS user) {
 		return Jwts.builder()
-				.setSubject(username)
+				.setId(UUID.randomUUID().toString())
+				.setSubject(user.getUsername())
+				.claim("id", user.getId())
+				.claim("roles", user.getRoleMask())
+				.setIssuedAt(new Date())
 				.setExpiration(new Date(System.currentTimeMillis() + expiration))
 				.signWith(SignatureAlgorithm.HS512, secret.getBytes())
 				.compact();
 	}
 
 	public boolean isValid(String token) {
-		Claims claims = getClaims(token);
+		return getValidClaims(token) != null;
+	}
+	
+	public Claims getValidClaims(String token) {
+		String key = digest(token);
+		long now = System.currentTimeMillis();
+		Claims claims = verified.withStripe(key, map -> {
+			Claims cached = map.get(key);
+			if(cached != null && now >= cached.getExpiration().getTime()) {
+				map.remove(key);
+				return null;
+			}
+			return cached;
+		});
+		if(claims != null) {
+			return claims;
+		}
+		claims = getClaims(token);
 		if(claims != null) {
 			String username = claims.getSubject();
 			Date expirationDate = claims.getExpiration();
-			Date now = new Date(System.currentTimeMillis());
-			if(username != null && expirationDate != null && now.before(expirationDate)) {
-				return true;
+			if(username != null && expirationDate != null && now < expirationDate.getTime()) {
+				verified.put(key, claims);
+				return claims;
 			}
 		}
-		return false;
+		return null;
+	}
+	
+	private String digest(String token) {
+		try {
+			byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+			return Base64.getEncoder().encodeToString(hash);
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException(e);
+		}
 	}
 
 	private Claims getClaims(String token) {
@@ -49,7 +100,7 @@ public class JWTUtil {
 	}
 
 	public String getUsername(String token) {
-		Claims claims = getClaims(token);
+		Claims claims = getValidClaims(token);
 		if(claims != null) {
 			return claims.getSubject();
 		}		
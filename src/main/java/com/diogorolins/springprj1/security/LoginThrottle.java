@@ -0,0 +1,68 @@
+package com.diogorolins.springprj1.security;
+
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.annotation.PostConstruct;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.diogorolins.springprj1.domain.dto.LoginThrottleDTO;
+import com.diogorolins.springprj1.utils.TokenBuckets;
+
+/*
+ * Token buckets per e-mail and per client IP, checked before any password
+ * hashing. Buckets live in lock-striped LRU maps with a fixed total size and
+ * are refilled lazily from the elapsed time when touched.
+ */
+@Component
+public class LoginThrottle {
+
+	private static final int STRIPES = 64;
+
+	@Value("${login.throttle.email.capacity}")
+	private Integer emailCapacity;
+	
+	@Value("${login.throttle.email.refill}")
+	private Long emailRefill;
+	
+	@Value("${login.throttle.ip.capacity}")
+	private Integer ipCapacity;
+	
+	@Value("${login.throttle.ip.refill}")
+	private Long ipRefill;
+	
+	@Value("${login.throttle.size}")
+	private Integer size;
+	
+	private TokenBuckets emails;
+	
+	private TokenBuckets ips;
+	
+	private LongAdder allowed = new LongAdder();
+	private LongAdder throttledByEmail = new LongAdder();
+	private LongAdder throttledByIp = new LongAdder();
+	
+	@PostConstruct
+	public void init() {
+		emails = new TokenBuckets(STRIPES, size);
+		ips = new TokenBuckets(STRIPES, size);
+	}
+	
+	public void check(String email, String ip) {
+		long now = System.currentTimeMillis();
+		if(ips.tryAcquire(ip, ipCapacity, ipRefill, now) > 0) {
+			throttledByIp.increment();
+			throw new LoginThrottledException("Muitas tentativas de login, tente novamente mais tarde.");
+		}
+		if(emails.tryAcquire((email == null) ? "" : email.toLowerCase(), emailCapacity, emailRefill, now) > 0) {
+			throttledByEmail.increment();
+			throw new LoginThrottledException("Muitas tentativas de login, tente novamente mais tarde.");
+		}
+		allowed.increment();
+	}
+	
+	public LoginThrottleDTO stats() {
+		return new LoginThrottleDTO(allowed.sum(), throttledByEmail.sum(), throttledByIp.sum(), emails.size() + ips.size());
+	}
+}
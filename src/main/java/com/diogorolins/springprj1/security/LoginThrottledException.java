@@ -0,0 +1,11 @@
+package com.diogorolins.springprj1.security;
+
+import org.springframework.security.core.AuthenticationException;
+
+public class LoginThrottledException extends AuthenticationException{
+	private static final long serialVersionUID = 1L;
+	
+	public LoginThrottledException(String msg) {
+		super(msg);
+	}
+}
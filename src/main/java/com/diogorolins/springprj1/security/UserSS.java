@@ -1,8 +1,8 @@
 package com.diogorolins.springprj1.security;
 
+import java.util.ArrayList;
 import java.util.Collection;
-import java.util.Set;
-import java.util.stream.Collectors;
+import java.util.List;
 
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
@@ -16,26 +16,40 @@ public class UserSS implements UserDetails{
 	private Integer id;
 	private String email;
 	private String password;
-	private Collection<? extends GrantedAuthority> authorities;
+	private int roles;
+	private transient Collection<? extends GrantedAuthority> authorities;
 	
 	public UserSS() {
 		
 	}
 	
-	public UserSS(Integer id, String email, String password, Set<Roles> roles) {
+	public UserSS(Integer id, String email, String password, int roles) {
 		super();
 		this.id = id;
 		this.email = email;
 		this.password = password;
-		this.authorities = roles.stream().map(x -> new SimpleGrantedAuthority(x.getDesc())).collect(Collectors.toList());
+		this.roles = roles;
 	}
 
 	public Integer getId() {
 		return id;
 	}
 	
+	public int getRoleMask() {
+		return roles;
+	}
+	
 	@Override
 	public Collection<? extends GrantedAuthority> getAuthorities() {
+		if(authorities == null) {
+			List<GrantedAuthority> list = new ArrayList<>();
+			for(Roles role : Roles.values()) {
+				if(hasRole(role)) {
+					list.add(new SimpleGrantedAuthority(role.getDesc()));
+				}
+			}
+			authorities = list;
+		}
 		return authorities;
 	}
 
@@ -70,7 +84,7 @@ public class UserSS implements UserDetails{
 	}
 
 	public boolean hasRole(Roles perfil) {
-		return getAuthorities().contains(new SimpleGrantedAuthority(perfil.getDesc()));
+		return (roles & perfil.getMask()) != 0;
 	}
 
 }
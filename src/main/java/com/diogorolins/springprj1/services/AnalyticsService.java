@@ -0,0 +1,320 @@
+package com.diogorolins.springprj1.services;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+import javax.annotation.PreDestroy;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import com.diogorolins.springprj1.domain.Order;
+import com.diogorolins.springprj1.domain.OrderItem;
+import com.diogorolins.springprj1.domain.dto.AnalyticsRowDTO;
+import com.diogorolins.springprj1.domain.enums.LineDimension;
+import com.diogorolins.springprj1.repositories.OrderItemRepository;
+
+/*
+ * Column-oriented copy of every order line kept in primitive arrays. Ad-hoc
+ * filters and group-bys run as parallel scans on a dedicated fork-join pool,
+ * so analytical queries never reach the database. Days are bucketed in the
+ * system zone, as the sales rollups are, and archived orders are loaded from
+ * the archive segments.
+ */
+@Service
+public class AnalyticsService {
+
+	private static final int ANY = Integer.MIN_VALUE;
+	private static final int SCAN_THRESHOLD = 1 << 15;
+
+	@Autowired
+	private OrderItemRepository orderItemRepository;
+
+	@Autowired
+	private ArchiveService archiveService;
+
+	@Value("${analytics.load.batch.size}")
+	private Integer batchSize;
+
+	private ForkJoinPool pool = new ForkJoinPool();
+
+	private volatile Columns columns = new Columns(1024);
+
+	private List<Order> pending;
+
+	// Built off-lock and swapped in; orders appended meanwhile are replayed unless the scan already saw them.
+	@EventListener(ApplicationReadyEvent.class)
+	public void load() {
+		synchronized (this) {
+			pending = new ArrayList<>();
+		}
+		// Keyset pages over (order, product) so the line table is never held in memory at once.
+		Columns cols = new Columns(1024);
+		Integer orderId = 0;
+		Integer productId = 0;
+		while (true) {
+			List<Object[]> rows = orderItemRepository.findLinesAfter(orderId, productId, PageRequest.of(0, batchSize));
+			if (rows.isEmpty()) {
+				break;
+			}
+			for (Object[] row : rows) {
+				long time = ((Date) row[4]).getTime();
+				cols = cols.append((Integer) row[0], (Integer) row[1], (Integer) row[2], (Integer) row[3],
+						time, epochDay(time), (Integer) row[5], netCents((Double) row[6], (Double) row[7]));
+			}
+			Object[] last = rows.get(rows.size() - 1);
+			orderId = (Integer) last[0];
+			productId = (Integer) last[1];
+		}
+		Columns[] loaded = { cols };
+		archiveService.forEach(order -> loaded[0] = append(loaded[0], order));
+		synchronized (this) {
+			cols = loaded[0];
+			Set<Integer> seen = new HashSet<>();
+			for (Order order : pending) {
+				seen.add(order.getId());
+			}
+			for (int i = 0; i < cols.size && !seen.isEmpty(); i++) {
+				seen.remove(cols.orderId[i]);
+			}
+			for (Order order : pending) {
+				if (seen.contains(order.getId())) {
+					cols = append(cols, order);
+				}
+			}
+			columns = cols;
+			pending = null;
+		}
+	}
+
+	public synchronized void append(Order order) {
+		columns = append(columns, order);
+		if (pending != null) {
+			pending.add(order);
+		}
+	}
+
+	private static Columns append(Columns cols, Order order) {
+		int stateId = order.getAddress().getCity().getState().getId();
+		long time = order.getInstant().getTime();
+		for (OrderItem i : order.getItems()) {
+			cols = cols.append(order.getId(), i.getProduct().getId(), order.getClient().getId(), stateId,
+					time, epochDay(time), i.getQuantity(), netCents(i.getPrice(), i.getDiscount()));
+		}
+		return cols;
+	}
+
+	// Unit price after the item discount, as OrderItem.getSubTotal and the sales rollups use it.
+	private static long netCents(Double price, Double discount) {
+		return Math.round((price - ((discount == null) ? 0.0 : discount)) * 100);
+	}
+
+	private static int epochDay(long time) {
+		return (int) new Date(time).toInstant().atZone(ZoneId.systemDefault()).toLocalDate().toEpochDay();
+	}
+
+	@PreDestroy
+	public void shutdown() {
+		pool.shutdown();
+	}
+
+	public List<AnalyticsRowDTO> groupBy(LineDimension dimension, Date from, Date to, Integer productId,
+			Integer stateId, Integer clientId) {
+		Columns cols = columns;
+		LineFilter filter = new LineFilter(from, to, productId, stateId, clientId);
+		Map<Long, long[]> groups = pool.invoke(new GroupTask(cols, filter, dimension, 0, cols.size));
+		List<AnalyticsRowDTO> list = new ArrayList<>();
+		for (Map.Entry<Long, long[]> entry : new TreeMap<>(groups).entrySet()) {
+			long[] v = entry.getValue();
+			AnalyticsRowDTO row = new AnalyticsRowDTO(entry.getKey(), v[0], v[1], v[2] / 100.0);
+			if (dimension == LineDimension.DAY) {
+				row.setDay(Date.from(LocalDate.ofEpochDay(entry.getKey()).atStartOfDay(ZoneId.systemDefault()).toInstant()));
+			}
+			list.add(row);
+		}
+		return list;
+	}
+
+	public List<AnalyticsRowDTO> basketSizes(Date from, Date to, Integer stateId) {
+		Columns cols = columns;
+		LineFilter filter = new LineFilter(from, to, null, stateId, null);
+		Map<Long, long[]> orders = pool.invoke(new GroupTask(cols, filter, LineDimension.ORDER, 0, cols.size));
+		Map<Long, long[]> histogram = new TreeMap<>();
+		for (long[] v : orders.values()) {
+			long[] h = histogram.computeIfAbsent(v[1], k -> new long[3]);
+			h[0]++;
+			h[1] += v[1];
+			h[2] += v[2];
+		}
+		List<AnalyticsRowDTO> list = new ArrayList<>();
+		for (Map.Entry<Long, long[]> entry : histogram.entrySet()) {
+			long[] h = entry.getValue();
+			list.add(new AnalyticsRowDTO(entry.getKey(), h[0], h[1], h[2] / 100.0));
+		}
+		return list;
+	}
+
+	private static class Columns {
+
+		private final int[] orderId;
+		private final int[] productId;
+		private final int[] clientId;
+		private final int[] stateId;
+		private final long[] instant;
+		private final int[] day;
+		private final int[] quantity;
+		private final long[] priceCents;
+		private final int size;
+
+		Columns(int capacity) {
+			this(new int[capacity], new int[capacity], new int[capacity], new int[capacity], new long[capacity],
+					new int[capacity], new int[capacity], new long[capacity], 0);
+		}
+
+		private Columns(int[] orderId, int[] productId, int[] clientId, int[] stateId, long[] instant,
+				int[] day, int[] quantity, long[] priceCents, int size) {
+			this.orderId = orderId;
+			this.productId = productId;
+			this.clientId = clientId;
+			this.stateId = stateId;
+			this.instant = instant;
+			this.day = day;
+			this.quantity = quantity;
+			this.priceCents = priceCents;
+			this.size = size;
+		}
+
+		// Writes past the published size and returns a new view that includes the line.
+		Columns append(int order, int product, int client, int state, long time, int epochDay, int qty, long cents) {
+			Columns cols = this;
+			if (size == orderId.length) {
+				int capacity = orderId.length * 2;
+				cols = new Columns(Arrays.copyOf(orderId, capacity), Arrays.copyOf(productId, capacity),
+						Arrays.copyOf(clientId, capacity), Arrays.copyOf(stateId, capacity),
+						Arrays.copyOf(instant, capacity), Arrays.copyOf(day, capacity), Arrays.copyOf(quantity, capacity),
+						Arrays.copyOf(priceCents, capacity), size);
+			}
+			cols.orderId[size] = order;
+			cols.productId[size] = product;
+			cols.clientId[size] = client;
+			cols.stateId[size] = state;
+			cols.instant[size] = time;
+			cols.day[size] = epochDay;
+			cols.quantity[size] = qty;
+			cols.priceCents[size] = cents;
+			return new Columns(cols.orderId, cols.productId, cols.clientId, cols.stateId, cols.instant,
+					cols.day, cols.quantity, cols.priceCents, size + 1);
+		}
+	}
+
+	private static class LineFilter {
+
+		private final long from;
+		// Exclusive: the start of the day after the requested "to" date, so that whole day is included.
+		private final long to;
+		private final int productId;
+		private final int stateId;
+		private final int clientId;
+
+		LineFilter(Date from, Date to, Integer productId, Integer stateId, Integer clientId) {
+			this.from = (from == null) ? Long.MIN_VALUE : from.getTime();
+			this.to = (to == null) ? Long.MAX_VALUE : to.toInstant().atZone(ZoneId.systemDefault()).toLocalDate()
+					.plusDays(1).atStartOfDay(ZoneId.systemDefault()).toInstant().toEpochMilli();
+			this.productId = (productId == null) ? ANY : productId;
+			this.stateId = (stateId == null) ? ANY : stateId;
+			this.clientId = (clientId == null) ? ANY : clientId;
+		}
+
+		boolean matches(Columns c, int i) {
+			return c.instant[i] >= from && c.instant[i] < to
+					&& (productId == ANY || c.productId[i] == productId)
+					&& (stateId == ANY || c.stateId[i] == stateId)
+					&& (clientId == ANY || c.clientId[i] == clientId);
+		}
+	}
+
+	private static class GroupTask extends RecursiveTask<Map<Long, long[]>> {
+		private static final long serialVersionUID = 1L;
+
+		private final Columns cols;
+		private final LineFilter filter;
+		private final LineDimension dimension;
+		private final int lo;
+		private final int hi;
+
+		GroupTask(Columns cols, LineFilter filter, LineDimension dimension, int lo, int hi) {
+			this.cols = cols;
+			this.filter = filter;
+			this.dimension = dimension;
+			this.lo = lo;
+			this.hi = hi;
+		}
+
+		@Override
+		protected Map<Long, long[]> compute() {
+			if (hi - lo > SCAN_THRESHOLD) {
+				int mid = (lo + hi) >>> 1;
+				GroupTask left = new GroupTask(cols, filter, dimension, lo, mid);
+				left.fork();
+				Map<Long, long[]> right = new GroupTask(cols, filter, dimension, mid, hi).compute();
+				return merge(left.join(), right);
+			}
+			Map<Long, long[]> groups = new HashMap<>();
+			for (int i = lo; i < hi; i++) {
+				if (!filter.matches(cols, i)) {
+					continue;
+				}
+				long[] v = groups.computeIfAbsent(key(i), k -> new long[3]);
+				v[0]++;
+				v[1] += cols.quantity[i];
+				v[2] += cols.quantity[i] * cols.priceCents[i];
+			}
+			return groups;
+		}
+
+		private long key(int i) {
+			switch (dimension) {
+			case PRODUCT:
+				return cols.productId[i];
+			case CLIENT:
+				return cols.clientId[i];
+			case STATE:
+				return cols.stateId[i];
+			case DAY:
+				return cols.day[i];
+			default:
+				return cols.orderId[i];
+			}
+		}
+
+		private static Map<Long, long[]> merge(Map<Long, long[]> a, Map<Long, long[]> b) {
+			if (a.size() < b.size()) {
+				Map<Long, long[]> tmp = a;
+				a = b;
+				b = tmp;
+			}
+			for (Map.Entry<Long, long[]> entry : b.entrySet()) {
+				long[] v = a.computeIfAbsent(entry.getKey(), k -> new long[3]);
+				v[0] += entry.getValue()[0];
+				v[1] += entry.getValue()[1];
+				v[2] += entry.getValue()[2];
+			}
+			return a;
+		}
+	}
+}
@@ -0,0 +1,350 @@
+package com.diogorolins.springprj1.services;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import javax.annotation.PostConstruct;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.diogorolins.springprj1.domain.Order;
+import com.diogorolins.springprj1.domain.OrderItem;
+import com.diogorolins.springprj1.domain.PaymentBoleto;
+import com.diogorolins.springprj1.exceptions.FileException;
+import com.diogorolins.springprj1.repositories.OrderItemRepository;
+import com.diogorolins.springprj1.repositories.OrderRepository;
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/*
+ * Moves old orders out of the transactional tables into append-only segment
+ * files. Each record is a gzip'd JSON snapshot of the order; a fixed-width
+ * .index file next to each segment maps order id and client to the record so
+ * archived orders can be read back through memory-mapped segments. Dates are
+ * stored as epoch millis.
+ */
+@Service
+public class ArchiveService {
+
+	private static final Logger LOG = LoggerFactory.getLogger(ArchiveService.class);
+
+	private static final int INDEX_ENTRY_BYTES = 32;
+
+	private static final long SEGMENT_MAX_BYTES = 1L << 30;
+
+	@Autowired
+	private OrderRepository orderRepository;
+
+	@Autowired
+	private OrderItemRepository orderItemRepository;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@Autowired
+	private ObjectMapper mapper;
+
+	@Value("${archive.dir}")
+	private String dir;
+
+	@Value("${archive.age.days}")
+	private Integer ageDays;
+
+	@Value("${archive.batch.size}")
+	private Integer batchSize;
+
+	private Map<Integer, ArchiveEntry> byId = new ConcurrentHashMap<>();
+
+	private Map<Integer, List<ArchiveEntry>> byClient = new ConcurrentHashMap<>();
+
+	private Map<Integer, MappedByteBuffer> segments = new ConcurrentHashMap<>();
+
+	private ObjectMapper archiveMapper;
+
+	private int currentSegment = 1;
+
+	@PostConstruct
+	public void load() throws IOException {
+		archiveMapper = mapper.copy()
+				.addMixIn(Order.class, OrderMixIn.class)
+				.addMixIn(PaymentBoleto.class, PaymentBoletoMixIn.class);
+		Path path = Paths.get(dir);
+		if (!Files.isDirectory(path)) {
+			return;
+		}
+		try (DirectoryStream<Path> files = Files.newDirectoryStream(path, "segment-*.index")) {
+			for (Path idx : files) {
+				ByteBuffer buf = ByteBuffer.wrap(Files.readAllBytes(idx));
+				List<ArchiveEntry> entries = new ArrayList<>();
+				while (buf.remaining() >= INDEX_ENTRY_BYTES) {
+					entries.add(ArchiveEntry.read(buf));
+				}
+				publish(withoutLiveOrders(entries));
+				currentSegment = Math.max(currentSegment, segmentOf(idx));
+			}
+		}
+	}
+
+	// The index is forced before the delete commits; entries whose order is still
+	// in the database belong to a batch whose transaction failed.
+	private List<ArchiveEntry> withoutLiveOrders(List<ArchiveEntry> entries) {
+		Set<Integer> live = new HashSet<>();
+		for (int i = 0; i < entries.size(); i += batchSize) {
+			List<Integer> ids = entries.subList(i, Math.min(entries.size(), i + batchSize)).stream()
+					.map(e -> e.orderId).collect(Collectors.toList());
+			live.addAll(orderRepository.findIdsByIdIn(ids));
+		}
+		if (!live.isEmpty()) {
+			LOG.warn("Entradas de arquivo ignoradas, pedidos ainda no banco: " + live.size());
+		}
+		return entries.stream().filter(e -> !live.contains(e.orderId)).collect(Collectors.toList());
+	}
+
+	public Optional<Order> findById(Integer id) {
+		ArchiveEntry entry = byId.get(id);
+		return (entry == null) ? Optional.empty() : Optional.of(read(entry));
+	}
+
+	public long countByClient(Integer clientId) {
+		return byClient.getOrDefault(clientId, new ArrayList<>()).size();
+	}
+
+	// Entries are kept newest first; ascending pages walk the list from the end.
+	public List<Order> findByClient(Integer clientId, long offset, int limit, boolean ascending) {
+		List<ArchiveEntry> entries = byClient.getOrDefault(clientId, new ArrayList<>());
+		List<Order> list = new ArrayList<>();
+		for (long i = offset; i < offset + limit && i < entries.size(); i++) {
+			int idx = (int) (ascending ? entries.size() - 1 - i : i);
+			list.add(read(entries.get(idx)));
+		}
+		return list;
+	}
+
+	public void forEach(Consumer<Order> action) {
+		for (ArchiveEntry entry : byId.values()) {
+			action.accept(read(entry));
+		}
+	}
+
+	@Scheduled(cron = "${archive.cron}")
+	public synchronized void archive() {
+		Date cutoff = new Date(System.currentTimeMillis() - ageDays * 24L * 60 * 60 * 1000);
+		TransactionTemplate tx = new TransactionTemplate(transactionManager);
+		long start = System.currentTimeMillis();
+		int total = 0;
+		int segment = currentSegment;
+		try {
+			Files.createDirectories(Paths.get(dir));
+			while (true) {
+				Path data = segmentPath(segment, "dat");
+				if (Files.exists(data) && Files.size(data) >= SEGMENT_MAX_BYTES) {
+					segment++;
+				}
+				int current = segment;
+				List<ArchiveEntry> entries = tx.execute(status -> archiveBatch(cutoff, current));
+				if (entries.isEmpty()) {
+					break;
+				}
+				publish(entries);
+				total += entries.size();
+				currentSegment = segment;
+			}
+		} catch (IOException | FileException e) {
+			LOG.error("Falha ao arquivar pedidos: " + e.getMessage());
+		}
+		LOG.info("Pedidos arquivados: " + total + " em " + (System.currentTimeMillis() - start) + " ms");
+	}
+
+	private List<ArchiveEntry> archiveBatch(Date cutoff, int segment) {
+		List<Integer> ids = orderRepository.findIdsBefore(cutoff, PageRequest.of(0, batchSize));
+		List<ArchiveEntry> entries = new ArrayList<>();
+		if (ids.isEmpty()) {
+			return entries;
+		}
+		List<Order> orders = orderRepository.findFullByIdIn(ids);
+		try (FileChannel data = FileChannel.open(segmentPath(segment, "dat"), StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+				FileChannel index = FileChannel.open(segmentPath(segment, "index"), StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+			for (Order order : orders) {
+				byte[] record = compress(archiveMapper.writeValueAsBytes(order));
+				long offset = data.position();
+				data.write(ByteBuffer.wrap(record));
+				entries.add(new ArchiveEntry(order.getId(), order.getClient().getId(), order.getInstant().getTime(),
+						segment, offset, record.length));
+			}
+			data.force(true);
+			ByteBuffer buf = ByteBuffer.allocate(entries.size() * INDEX_ENTRY_BYTES);
+			for (ArchiveEntry entry : entries) {
+				entry.write(buf);
+			}
+			buf.flip();
+			index.write(buf);
+			index.force(true);
+		} catch (IOException e) {
+			throw new FileException("Erro ao gravar arquivo de pedidos", e);
+		}
+		for (Order order : orders) {
+			orderItemRepository.deleteAll(order.getItems());
+			orderRepository.delete(order);
+		}
+		return entries;
+	}
+
+	private void publish(List<ArchiveEntry> entries) {
+		for (ArchiveEntry entry : entries) {
+			byId.put(entry.orderId, entry);
+		}
+		for (Integer clientId : entries.stream().map(e -> e.clientId).collect(Collectors.toSet())) {
+			byClient.compute(clientId, (k, old) -> {
+				Map<Integer, ArchiveEntry> merged = new HashMap<>();
+				if (old != null) {
+					old.forEach(e -> merged.put(e.orderId, e));
+				}
+				entries.stream().filter(e -> e.clientId == clientId).forEach(e -> merged.put(e.orderId, e));
+				return merged.values().stream()
+						.sorted(Comparator.comparingLong((ArchiveEntry e) -> e.instant)
+								.thenComparingInt(e -> e.orderId).reversed())
+						.collect(Collectors.toList());
+			});
+		}
+	}
+
+	private Order read(ArchiveEntry entry) {
+		try {
+			ByteBuffer buf = mapped(entry).duplicate();
+			buf.position((int) entry.offset);
+			byte[] record = new byte[entry.length];
+			buf.get(record);
+			Order order;
+			try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(record))) {
+				order = archiveMapper.readValue(in, Order.class);
+			}
+			return relink(order);
+		} catch (IOException e) {
+			throw new FileException("Erro ao ler pedido arquivado " + entry.orderId, e);
+		}
+	}
+
+	private MappedByteBuffer mapped(ArchiveEntry entry) throws IOException {
+		MappedByteBuffer buf = segments.get(entry.segment);
+		if (buf == null || buf.capacity() < entry.offset + entry.length) {
+			try (FileChannel channel = FileChannel.open(segmentPath(entry.segment, "dat"), StandardOpenOption.READ)) {
+				buf = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+			}
+			segments.put(entry.segment, buf);
+		}
+		return buf;
+	}
+
+	// Back references are not serialized; restore them so the order reads like a loaded entity.
+	private Order relink(Order order) {
+		if (order.getPayment() != null) {
+			order.getPayment().setOrder(order);
+		}
+		List<OrderItem> items = new ArrayList<>(order.getItems());
+		order.getItems().clear();
+		for (OrderItem item : items) {
+			item.setOrder(order);
+			order.getItems().add(item);
+		}
+		return order;
+	}
+
+	private byte[] compress(byte[] json) throws IOException {
+		ByteArrayOutputStream os = new ByteArrayOutputStream();
+		try (GZIPOutputStream gz = new GZIPOutputStream(os)) {
+			gz.write(json);
+		}
+		return os.toByteArray();
+	}
+
+	private Path segmentPath(int segment, String extension) {
+		return Paths.get(dir, String.format("segment-%06d.%s", segment, extension));
+	}
+
+	private int segmentOf(Path idx) {
+		String name = idx.getFileName().toString();
+		return Integer.parseInt(name.substring("segment-".length(), name.indexOf('.')));
+	}
+
+	private static class ArchiveEntry {
+
+		private final int orderId;
+		private final int clientId;
+		private final long instant;
+		private final int segment;
+		private final long offset;
+		private final int length;
+
+		ArchiveEntry(int orderId, int clientId, long instant, int segment, long offset, int length) {
+			this.orderId = orderId;
+			this.clientId = clientId;
+			this.instant = instant;
+			this.segment = segment;
+			this.offset = offset;
+			this.length = length;
+		}
+
+		static ArchiveEntry read(ByteBuffer buf) {
+			int orderId = buf.getInt();
+			int clientId = buf.getInt();
+			long instant = buf.getLong();
+			int segment = buf.getInt();
+			long offset = buf.getLong();
+			int length = buf.getInt();
+			return new ArchiveEntry(orderId, clientId, instant, segment, offset, length);
+		}
+
+		void write(ByteBuffer buf) {
+			buf.putInt(orderId);
+			buf.putInt(clientId);
+			buf.putLong(instant);
+			buf.putInt(segment);
+			buf.putLong(offset);
+			buf.putInt(length);
+		}
+	}
+
+	private abstract static class OrderMixIn {
+		@JsonFormat(shape = JsonFormat.Shape.NUMBER)
+		private Date instant;
+	}
+
+	private abstract static class PaymentBoletoMixIn {
+		@JsonFormat(shape = JsonFormat.Shape.NUMBER)
+		private Date dueDate;
+		@JsonFormat(shape = JsonFormat.Shape.NUMBER)
+		private Date paymentDate;
+	}
+}
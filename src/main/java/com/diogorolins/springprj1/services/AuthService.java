@@ -3,7 +3,7 @@ package com.diogorolins.springprj1.services;
 import java.util.Random;
 
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
 import com.diogorolins.springprj1.domain.Client;
@@ -17,11 +17,14 @@ public class AuthService {
 	private ClientRepository repository;
 
 	@Autowired
-	private BCryptPasswordEncoder encoder;
+	private PasswordEncoder encoder;
 
 	@Autowired
 	private EmailService emailService;
 	
+	@Autowired
+	private TokenRevocationService revocationService;
+	
 	private Random rand = new Random();
 
 	public void sendNewPassword(String email) {
@@ -34,6 +37,7 @@ public class AuthService {
 		System.out.println(newPass);
 		client.setPassword(encoder.encode(newPass));
 		repository.save(client);
+		revocationService.revokeSubject(client.getEmail());
 		emailService.sendNewPasswordEmail(client, newPass);
 	}
 
@@ -0,0 +1,114 @@
+package com.diogorolins.springprj1.services;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.diogorolins.springprj1.domain.Order;
+import com.diogorolins.springprj1.domain.dto.BoletoExpiryDTO;
+import com.diogorolins.springprj1.domain.enums.PaymentStatus;
+import com.diogorolins.springprj1.repositories.PaymentRepository;
+
+/*
+ * Cancels boletos still waiting for payment after their due date. The sweep
+ * walks overdue ids in keyset order and cancels each chunk in its own short
+ * transaction, so only the rows of the current chunk are ever locked. A
+ * boleto is overdue only once its whole due day, plus any grace days, has
+ * passed, since the bank may still settle it late on the due date.
+ */
+@Service
+public class BoletoExpiryService {
+
+	private static final Logger LOG = LoggerFactory.getLogger(BoletoExpiryService.class);
+
+	@Autowired
+	private PaymentRepository paymentRepository;
+
+	@Autowired
+	private PaymentService paymentService;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@Value("${boleto.expiry.batch.size}")
+	private Integer batchSize;
+
+	@Value("${boleto.expiry.grace.days}")
+	private Integer graceDays;
+
+	private LongAdder runs = new LongAdder();
+	private LongAdder scannedTotal = new LongAdder();
+	private LongAdder canceledTotal = new LongAdder();
+	private LongAdder millisTotal = new LongAdder();
+
+	private volatile BoletoExpiryDTO last = new BoletoExpiryDTO();
+
+	public BoletoExpiryDTO stats() {
+		BoletoExpiryDTO run = last;
+		return new BoletoExpiryDTO(runs.sum(), scannedTotal.sum(), canceledTotal.sum(), millisTotal.sum(),
+				run.getLastCanceled(), run.getLastMillis(), run.getLastRun(), run.getLastCutoff());
+	}
+
+	@Scheduled(fixedDelayString = "${boleto.expiry.interval}")
+	public synchronized void sweep() {
+		Date runAt = new Date();
+		LocalDate today = LocalDate.now();
+		Date cutoff = Date.from(today.minusDays(graceDays).atStartOfDay(ZoneId.systemDefault()).toInstant());
+		TransactionTemplate tx = new TransactionTemplate(transactionManager);
+		long start = System.currentTimeMillis();
+		int scanned = 0;
+		int canceled = 0;
+		int chunks = 0;
+		Integer lastId = 0;
+		while (true) {
+			List<Integer> ids = paymentRepository.findBoletoIdsDueBefore(PaymentStatus.WAITING_PAYMENT.getCode(), cutoff,
+					lastId, PageRequest.of(0, batchSize));
+			if (ids.isEmpty()) {
+				break;
+			}
+			lastId = Collections.max(ids);
+			long chunkStart = System.currentTimeMillis();
+			List<Order> orders = tx.execute(status -> cancel(ids));
+			paymentService.publishStatus(orders, PaymentStatus.CANCELED);
+			scanned += ids.size();
+			canceled += orders.size();
+			chunks++;
+			LOG.debug("Lote de boletos vencidos: " + orders.size() + " cancelados em " + (System.currentTimeMillis() - chunkStart) + " ms");
+			if (ids.size() < batchSize) {
+				break;
+			}
+		}
+		long elapsed = System.currentTimeMillis() - start;
+		runs.increment();
+		scannedTotal.add(scanned);
+		canceledTotal.add(canceled);
+		millisTotal.add(elapsed);
+		last = new BoletoExpiryDTO(null, null, null, null, canceled, elapsed, runAt, cutoff);
+		if (scanned > 0) {
+			LOG.info("Boletos vencidos: " + canceled + " cancelados de " + scanned + " em " + chunks + " lotes, "
+					+ elapsed + " ms");
+		}
+	}
+
+	private List<Order> cancel(List<Integer> ids) {
+		List<Integer> waiting = paymentRepository.lockBoletoIdsByStatus(ids, PaymentStatus.WAITING_PAYMENT.getCode());
+		if (waiting.isEmpty()) {
+			return new ArrayList<>();
+		}
+		return paymentService.applyStatus(waiting, PaymentStatus.CANCELED);
+	}
+}
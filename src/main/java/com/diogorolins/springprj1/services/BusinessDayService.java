@@ -0,0 +1,225 @@
+package com.diogorolins.springprj1.services;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.MonthDay;
+import java.time.Year;
+import java.time.format.DateTimeParseException;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.TimeZone;
+
+import javax.annotation.PostConstruct;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.diogorolins.springprj1.exceptions.FileException;
+
+/*
+ * Business-day calendar built once per range of years: a bitmap of working
+ * days for each year (weekends and bank holidays cleared) flattened into
+ * prefix counts and a list of working days, so adding N business days is two
+ * array reads. National holidays are computed; extra dates (yyyy-MM-dd, one
+ * per line) can be loaded from holidays.file.
+ */
+@Service
+public class BusinessDayService {
+
+	private static final Logger LOG = LoggerFactory.getLogger(BusinessDayService.class);
+
+	private static final long DAY_MILLIS = 24L * 60 * 60 * 1000;
+
+	private static final MonthDay[] FIXED_HOLIDAYS = { MonthDay.of(1, 1), MonthDay.of(4, 21), MonthDay.of(5, 1),
+			MonthDay.of(9, 7), MonthDay.of(10, 12), MonthDay.of(11, 2), MonthDay.of(11, 15), MonthDay.of(11, 20),
+			MonthDay.of(12, 25) };
+
+	@Value("${holidays.file}")
+	private String file;
+
+	@Value("${holidays.years.back}")
+	private Integer yearsBack;
+
+	@Value("${holidays.years.ahead}")
+	private Integer yearsAhead;
+
+	private TimeZone zone = TimeZone.getDefault();
+
+	private Set<LocalDate> extraHolidays = new HashSet<>();
+
+	private volatile Table table;
+
+	@PostConstruct
+	public void load() {
+		Path path = Paths.get(file);
+		if (Files.isReadable(path)) {
+			try {
+				for (String line : Files.readAllLines(path, StandardCharsets.UTF_8)) {
+					line = line.trim();
+					if (!line.isEmpty() && !line.startsWith("#")) {
+						extraHolidays.add(LocalDate.parse(line));
+					}
+				}
+			} catch (IOException | DateTimeParseException e) {
+				throw new FileException("Erro ao ler arquivo de feriados: " + file, e);
+			}
+			LOG.info("Feriados carregados de " + file + ": " + extraHolidays.size());
+		}
+		int year = Year.now().getValue();
+		table = new Table(year - yearsBack, year + yearsAhead, extraHolidays);
+	}
+
+	public boolean isBusinessDay(Date date) {
+		long epochDay = epochDay(date.getTime());
+		return table(epochDay, 0).isBusinessDay(epochDay);
+	}
+
+	public Date addBusinessDays(Date date, int days) {
+		long millis = date.getTime();
+		int offset = zone.getOffset(millis);
+		long epochDay = Math.floorDiv(millis + offset, DAY_MILLIS);
+		long target = table(epochDay, days).addBusinessDays(epochDay, days);
+		long due = millis + (target - epochDay) * DAY_MILLIS;
+		return new Date(due - (zone.getOffset(due) - offset));
+	}
+
+	private long epochDay(long millis) {
+		return Math.floorDiv(millis + zone.getOffset(millis), DAY_MILLIS);
+	}
+
+	private Table table(long epochDay, int days) {
+		Table t = table;
+		if (t.covers(epochDay, days)) {
+			return t;
+		}
+		return extend(epochDay, days);
+	}
+
+	private synchronized Table extend(long epochDay, int days) {
+		Table t = table;
+		int firstYear = t.firstYear;
+		int lastYear = t.lastYear;
+		while (!t.covers(epochDay, days)) {
+			firstYear = Math.min(firstYear, LocalDate.ofEpochDay(epochDay).getYear());
+			lastYear = Math.max(lastYear, LocalDate.ofEpochDay(epochDay).getYear()) + 1;
+			t = new Table(firstYear, lastYear, extraHolidays);
+		}
+		table = t;
+		return t;
+	}
+
+	private static Set<LocalDate> nationalHolidays(int year) {
+		Set<LocalDate> holidays = new HashSet<>();
+		for (MonthDay day : FIXED_HOLIDAYS) {
+			holidays.add(day.atYear(year));
+		}
+		LocalDate easter = easter(year);
+		holidays.add(easter.minusDays(48));
+		holidays.add(easter.minusDays(47));
+		holidays.add(easter.minusDays(2));
+		holidays.add(easter.plusDays(60));
+		return holidays;
+	}
+
+	private static LocalDate easter(int year) {
+		int a = year % 19;
+		int b = year / 100;
+		int c = year % 100;
+		int d = b / 4;
+		int e = b % 4;
+		int f = (b + 8) / 25;
+		int g = (b - f + 1) / 3;
+		int h = (19 * a + b - d - g + 15) % 30;
+		int i = c / 4;
+		int k = c % 4;
+		int l = (32 + 2 * e + 2 * i - h - k) % 7;
+		int m = (a + 11 * h + 22 * l) / 451;
+		int month = (h + l - 7 * m + 114) / 31;
+		int day = ((h + l - 7 * m + 114) % 31) + 1;
+		return LocalDate.of(year, month, day);
+	}
+
+	private static class Table {
+
+		private final int firstYear;
+		private final int lastYear;
+		private final long firstDay;
+		private final int[] yearStart;
+		private final long[][] bitmaps;
+		private final int[] prefix;
+		private final int[] businessDays;
+
+		Table(int firstYear, int lastYear, Set<LocalDate> extraHolidays) {
+			this.firstYear = firstYear;
+			this.lastYear = lastYear;
+			this.firstDay = LocalDate.of(firstYear, 1, 1).toEpochDay();
+			int years = lastYear - firstYear + 1;
+			this.yearStart = new int[years + 1];
+			this.bitmaps = new long[years][];
+			for (int y = 0; y < years; y++) {
+				bitmaps[y] = bitmap(firstYear + y, extraHolidays);
+				yearStart[y + 1] = yearStart[y] + Year.of(firstYear + y).length();
+			}
+			int days = yearStart[years];
+			this.prefix = new int[days + 1];
+			int[] list = new int[days];
+			int count = 0;
+			for (int i = 0; i < days; i++) {
+				prefix[i] = count;
+				if (isBusinessDay(firstDay + i)) {
+					list[count++] = i;
+				}
+			}
+			prefix[days] = count;
+			this.businessDays = Arrays.copyOf(list, count);
+		}
+
+		private static long[] bitmap(int year, Set<LocalDate> extraHolidays) {
+			LocalDate first = LocalDate.of(year, 1, 1);
+			int length = first.lengthOfYear();
+			long[] bits = new long[(length + 63) >>> 6];
+			Set<LocalDate> holidays = nationalHolidays(year);
+			for (int i = 0; i < length; i++) {
+				LocalDate day = first.plusDays(i);
+				DayOfWeek dow = day.getDayOfWeek();
+				if (dow != DayOfWeek.SATURDAY && dow != DayOfWeek.SUNDAY && !holidays.contains(day)
+						&& !extraHolidays.contains(day)) {
+					bits[i >>> 6] |= 1L << i;
+				}
+			}
+			return bits;
+		}
+
+		boolean covers(long epochDay, int days) {
+			long index = epochDay - firstDay;
+			return index >= 0 && index < prefix.length - 1 && prefix[(int) index + 1] + days <= businessDays.length;
+		}
+
+		boolean isBusinessDay(long epochDay) {
+			int index = (int) (epochDay - firstDay);
+			int y = 0;
+			while (index >= yearStart[y + 1]) {
+				y++;
+			}
+			int bit = index - yearStart[y];
+			return (bitmaps[y][bit >>> 6] & (1L << bit)) != 0;
+		}
+
+		// The N-th working day strictly after the given day.
+		long addBusinessDays(long epochDay, int days) {
+			if (days <= 0) {
+				return epochDay;
+			}
+			return firstDay + businessDays[prefix[(int) (epochDay - firstDay) + 1] + days - 1];
+		}
+	}
+}
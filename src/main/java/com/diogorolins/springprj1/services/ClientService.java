@@ -1,10 +1,15 @@
 package com.diogorolins.springprj1.services;
 
 import java.awt.image.BufferedImage;
+import java.io.InputStream;
 import java.net.URI;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
 
+import javax.annotation.PostConstruct;
 import javax.validation.Valid;
 
 import org.springframework.beans.factory.annotation.Autowired;
@@ -13,7 +18,7 @@ import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort.Direction;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
@@ -40,7 +45,7 @@ public class ClientService {
 	private AddressRepository addressRepository;
 	
 	@Autowired
-	private BCryptPasswordEncoder pe;
+	private PasswordEncoder pe;
 	
 	@Autowired
 	private S3Service s3Service;
@@ -48,12 +53,28 @@ public class ClientService {
 	@Autowired
 	private ImageService imageService;
 	
+	@Autowired
+	private TokenRevocationService revocationService;
+	
 	@Value("${img.prefix.client.profile}")
 	private String prefix;
 	
 	@Value("${img.profile.size}")
 	private Integer imageSize;
 	
+	@Value("${upload.image.permits}")
+	private Integer imagePermits;
+	
+	@Value("${upload.image.wait}")
+	private Long imageWait;
+	
+	private Semaphore imageSemaphore;
+	
+	@PostConstruct
+	public void init() {
+		imageSemaphore = new Semaphore(imagePermits);
+	}
+	
 	public List<Client> findAll() {
 		return repository.findAll();
 	}
@@ -84,9 +105,10 @@ public class ClientService {
 	}
 	
 	public void delete(Integer id) {
-		findById(id);
+		Client obj = findById(id);
 		try {
 			repository.deleteById(id);
+			revocationService.revokeSubject(obj.getEmail());
 		} catch(DataIntegrityViolationException e) {
 			throw new DatabaseException("Integrity error: " + Client.class.getSimpleName() + " ID: " + id );
 		}
@@ -157,19 +179,37 @@ public class ClientService {
 		if(userSS == null) {
 			throw new AuthorizationException("Access denied.");
 		}
-		BufferedImage jpgImage =imageService.getJpgImageFromFile(mf);
-		jpgImage = imageService.cropSquare(jpgImage);
-		jpgImage = imageService.resize(jpgImage, imageSize);
+		InputStream is = processImage(mf);
 		
 		String fileName = prefix + userSS.getId() + ".jpg";
 		
-		return s3Service.upUploadFile(imageService.getInputStream(jpgImage, "jpg"), fileName, "image");
+		return s3Service.upUploadFile(is, fileName, "image");
+	}
+	
+	private InputStream processImage(MultipartFile mf) {
+		try {
+			if(!imageSemaphore.tryAcquire(imageWait, TimeUnit.MILLISECONDS)) {
+				throw new RejectedExecutionException("Image processing is saturated");
+			}
+		} catch(InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new RejectedExecutionException("Interrupted waiting for image processing", e);
+		}
+		try {
+			BufferedImage jpgImage =imageService.getJpgImageFromFile(mf);
+			jpgImage = imageService.cropSquare(jpgImage);
+			jpgImage = imageService.resize(jpgImage, imageSize);
+			return imageService.getInputStream(jpgImage, "jpg");
+		} finally {
+			imageSemaphore.release();
+		}
 	}
 
 	public void changePassword(Integer id, String password) {
 		Client newObj = findById(id);
 		newObj.setPassword(pe.encode(password));	
 		repository.save(newObj);
+		revocationService.revokeSubject(newObj.getEmail());
 	}
 		
 }
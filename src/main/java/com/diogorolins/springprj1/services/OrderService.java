@@ -1,22 +1,39 @@
 package com.diogorolins.springprj1.services;
 
+import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort.Direction;
 import org.springframework.stereotype.Service;
 
-import com.diogorolins.springprj1.domain.Client;
+import com.diogorolins.springprj1.domain.Address;
 import com.diogorolins.springprj1.domain.Order;
 import com.diogorolins.springprj1.domain.OrderItem;
 import com.diogorolins.springprj1.domain.PaymentBoleto;
+import com.diogorolins.springprj1.domain.Product;
+import com.diogorolins.springprj1.domain.dto.OrderQuoteDTO;
+import com.diogorolins.springprj1.domain.dto.OrderStatusDTO;
+import com.diogorolins.springprj1.domain.dto.ProductDTO;
 import com.diogorolins.springprj1.domain.enums.PaymentStatus;
+import com.diogorolins.springprj1.domain.enums.Roles;
 import com.diogorolins.springprj1.exceptions.AuthorizationException;
 import com.diogorolins.springprj1.exceptions.ObjectNotFoundException;
+import com.diogorolins.springprj1.repositories.AddressRepository;
 import com.diogorolins.springprj1.repositories.OrderItemRepository;
 import com.diogorolins.springprj1.repositories.OrderRepository;
 import com.diogorolins.springprj1.repositories.PaymentRepository;
@@ -46,17 +63,72 @@ public class OrderService {
 	@Autowired
 	private EmailService emailService;
 	
+	@Autowired
+	private OrderSummaryService orderSummaryService;
+	
+	@Autowired
+	private StockService stockService;
+	
+	@Autowired
+	private SalesRollupService salesRollupService;
+	
+	@Autowired
+	private AnalyticsService analyticsService;
+	
+	@Autowired
+	private AddressRepository addressRepository;
+	
+	@Autowired
+	private ArchiveService archiveService;
+	
+	@Autowired
+	private ApplicationEventPublisher publisher;
+	
+	@Autowired
+	@Qualifier("checkoutValidationExecutor")
+	private Executor checkoutValidationExecutor;
+	
 	public List<Order> findAll() {
 		return repository.findAll();
 	}
 	
 	public Order findById(Integer id) {
 		Optional<Order> obj = repository.findById(id);
+		if(!obj.isPresent()) {
+			obj = archiveService.findById(id);
+		}
 		return obj.orElseThrow(() -> new ObjectNotFoundException("Resource not found: " + Order.class.getSimpleName() + " id " + id));
 	}
 
-	public Order insert(Order obj) {
-		obj = configureOrder(obj);
+	// A retried checkout carrying the same Idempotency-Key gets the order of the first attempt.
+	public Order insert(Order obj, String idempotencyKey) {
+		if(idempotencyKey != null) {
+			if(idempotencyKey.isEmpty() || idempotencyKey.length() > 64) {
+				throw new IllegalStateException("Idempotency-Key inválida.");
+			}
+			// Keys are scoped to the caller; the body's client id is untrusted until it matches.
+			UserSS user = UserService.authenticated();
+			if(user == null || obj.getClient() == null || !user.getId().equals(obj.getClient().getId())) {
+				throw new AuthorizationException("Access denied");
+			}
+			Integer clientId = user.getId();
+			Optional<Order> existing = repository.findByClientIdAndIdempotencyKey(clientId, idempotencyKey);
+			if(existing.isPresent()) {
+				return existing.get();
+			}
+			obj.setIdempotencyKey(idempotencyKey);
+			try {
+				obj = configureOrder(obj);
+			} catch(DataIntegrityViolationException e) {
+				return repository.findByClientIdAndIdempotencyKey(clientId, idempotencyKey).orElseThrow(() -> e);
+			}
+		} else {
+			obj = configureOrder(obj);
+		}
+		orderSummaryService.insert(obj);
+		salesRollupService.recordPlaced(obj);
+		analyticsService.append(obj);
+		publisher.publishEvent(new OrderStatusDTO(obj, obj.getPayment().getPaymentStatus()));
 		System.out.println("Finalizou a inserçao");
 		emailService.sendOrderConfirmationMail(obj);
 		return obj;
@@ -65,33 +137,140 @@ public class OrderService {
 	private Order configureOrder(Order obj) {
 		obj.setId(null);
 		obj.setInstant(new Date());
+		List<Integer> productIds = obj.getItems().stream().map(i -> i.getProduct().getId()).collect(Collectors.toList());
+		Integer addressId = obj.getAddress().getId();
+		CompletableFuture<Map<Integer, Product>> products = CompletableFuture.supplyAsync(
+				() -> productService.findAllById(productIds), checkoutValidationExecutor);
+		CompletableFuture<Address> address = CompletableFuture.supplyAsync(
+				() -> findAddress(addressId), checkoutValidationExecutor);
 		obj.setClient(clientService.findById(obj.getClient().getId()));
-		obj.getPayment().setPaymentStatus(PaymentStatus.WAITING_PAYMENT);
-		obj.getPayment().setOrder(obj);
-		obj = repository.save(obj);
+		obj.setAddress(await(address));
+		if(!obj.getAddress().getClient().getId().equals(obj.getClient().getId())) {
+			throw new AuthorizationException("Access denied");
+		}
+		Map<Integer, Product> resolved = await(products);
+		for(OrderItem i : obj.getItems()) {
+			i.setProduct(resolved.get(i.getProduct().getId()));
+			i.setPrice(i.getProduct().getPrice());
+			paymentService.applyDiscount(i, obj.getPayment());
+		}
 		if(obj.getPayment() instanceof PaymentBoleto) {
 			PaymentBoleto pay = (PaymentBoleto) obj.getPayment();
 			paymentService.fillPaymentBoleto(pay, obj.getInstant());
 		}
-		paymentRepository.save(obj.getPayment());
-		for(OrderItem i : obj.getItems()) {
-			i.setDiscount(0.0);
-			i.setProduct(productService.findById(i.getProduct().getId()));
-			i.setPrice(i.getProduct().getPrice());
-			i.setOrder(obj);
+		stockService.reserve(obj);
+		try {
+			obj.getPayment().setPaymentStatus(PaymentStatus.WAITING_PAYMENT);
+			obj.getPayment().setOrder(obj);
+			obj = repository.save(obj);
+			paymentRepository.save(obj.getPayment());
+			for(OrderItem i : obj.getItems()) {
+				i.setOrder(obj);
+			}
+			orderItemRepository.saveAll(obj.getItems());
+		} catch(RuntimeException e) {
+			stockService.release(obj);
+			throw e;
 		}
-		orderItemRepository.saveAll(obj.getItems());
 		System.out.println("Salvou tudo");
 		return obj;
 	}
 	
+	public OrderQuoteDTO quote(Order obj) {
+		obj.setId(null);
+		obj.setInstant(new Date());
+		List<Integer> productIds = obj.getItems().stream().map(i -> i.getProduct().getId()).collect(Collectors.toList());
+		Map<Integer, ProductDTO> prices = productService.findPrices(productIds);
+		for(OrderItem i : obj.getItems()) {
+			ProductDTO price = prices.get(i.getProduct().getId());
+			i.setProduct(new Product(price.getId(), price.getName(), price.getPrice()));
+			i.setPrice(price.getPrice());
+			paymentService.applyDiscount(i, obj.getPayment());
+		}
+		if(obj.getPayment() instanceof PaymentBoleto) {
+			paymentService.fillPaymentBoleto((PaymentBoleto) obj.getPayment(), obj.getInstant());
+		}
+		return new OrderQuoteDTO(obj);
+	}
+	
+	private <T> T await(CompletableFuture<T> future) {
+		try {
+			return future.join();
+		} catch(CompletionException e) {
+			if(e.getCause() instanceof RuntimeException) {
+				throw (RuntimeException) e.getCause();
+			}
+			throw e;
+		}
+	}
+	
+	private Address findAddress(Integer id) {
+		Optional<Address> obj = addressRepository.findFull(id);
+		return obj.orElseThrow(() -> new ObjectNotFoundException("Resource not found: " + Address.class.getSimpleName() + " id " + id));
+	}
+	
+	public void cancel(Integer id) {
+		Order obj = repository.findById(id).orElseThrow(() -> new ObjectNotFoundException("Resource not found: " + Order.class.getSimpleName() + " id " + id));
+		UserSS user = UserService.authenticated();
+		if(user == null || !user.hasRole(Roles.ADMIN) && !obj.getClient().getId().equals(user.getId())) {
+			throw new AuthorizationException("Access denied.");
+		}
+		if(obj.getPayment().getPaymentStatus() != PaymentStatus.WAITING_PAYMENT || !paymentService.cancelIfWaiting(id)) {
+			throw new IllegalStateException("Apenas pedidos pendentes podem ser cancelados.");
+		}
+	}
+	
+	// Archived orders are older and lower-numbered than every live one: they
+	// follow the live rows on descending pages and precede them on ascending
+	// instant/id pages. Other orderBy values keep archived orders last, by instant.
 	public Page<Order> findPage(Integer page, Integer linesPerPage, String orderBy, String direction ){
 		UserSS user = UserService.authenticated();
 		if(user == null) {
 			throw new AuthorizationException("Access denied");
 		}		
 		PageRequest pageRequest = PageRequest.of(page, linesPerPage, Direction.valueOf(direction), orderBy);
-		Client client = clientService.findById(user.getId());
-		return repository.findByClient(client, pageRequest);
+		boolean ascending = pageRequest.getSort().getOrderFor(orderBy).isAscending();
+		boolean archivedFirst = ascending && ("instant".equals(orderBy) || "id".equals(orderBy));
+		long archived = archiveService.countByClient(user.getId());
+		List<Order> content = new ArrayList<>();
+		long live;
+		if(archivedFirst) {
+			content.addAll(archiveService.findByClient(user.getId(), pageRequest.getOffset(), linesPerPage, true));
+			// The live window starts liveOffset rows in and spans at most two pages of linesPerPage.
+			long liveOffset = Math.max(0, pageRequest.getOffset() - archived);
+			int remaining = linesPerPage - content.size();
+			int first = (int) (liveOffset / linesPerPage);
+			int skip = (int) (liveOffset % linesPerPage);
+			Page<Integer> ids = repository.findIdsByClientId(user.getId(), 
+					PageRequest.of(first, linesPerPage, pageRequest.getSort()));
+			if(remaining > 0) {
+				List<Integer> pageIds = new ArrayList<>(ids.getContent().subList(Math.min(skip, ids.getNumberOfElements()), ids.getNumberOfElements()));
+				if(pageIds.size() < remaining && ids.hasNext()) {
+					pageIds.addAll(repository.findIdsByClientId(user.getId(), 
+							PageRequest.of(first + 1, linesPerPage, pageRequest.getSort())).getContent());
+				}
+				content.addAll(findLive(pageIds.subList(0, Math.min(remaining, pageIds.size()))));
+			}
+			live = ids.getTotalElements();
+		} else {
+			Page<Integer> ids = repository.findIdsByClientId(user.getId(), pageRequest);
+			content.addAll(findLive(ids.getContent()));
+			if(content.size() < linesPerPage) {
+				long archivedOffset = Math.max(0, pageRequest.getOffset() - ids.getTotalElements());
+				content.addAll(archiveService.findByClient(user.getId(), archivedOffset, linesPerPage - content.size(), ascending));
+			}
+			live = ids.getTotalElements();
+		}
+		return new PageImpl<>(content, pageRequest, live + archived);
+	}
+	
+	private List<Order> findLive(List<Integer> ids) {
+		List<Order> list = ids.isEmpty() ? new ArrayList<>() : repository.findFullByIdIn(ids);
+		Map<Integer, Order> orders = list.stream().collect(Collectors.toMap(Order::getId, Function.identity()));
+		List<Order> content = new ArrayList<>();
+		for(Integer id : ids) {
+			content.add(orders.get(id));
+		}
+		return content;
 	}
 }
@@ -0,0 +1,152 @@
+package com.diogorolins.springprj1.services;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.diogorolins.springprj1.domain.dto.OrderStatusDTO;
+import com.diogorolins.springprj1.exceptions.AuthorizationException;
+import com.diogorolins.springprj1.exceptions.TooManyRequestsException;
+import com.diogorolins.springprj1.security.UserSS;
+
+/*
+ * Publishers (checkout, webhooks, reconciliation) only enqueue events; each
+ * subscriber drains its own queue on streamExecutor, so a slow client delays
+ * nobody but itself and is dropped once stream.buffer events pile up.
+ */
+@Service
+public class OrderStreamService {
+
+	@Value("${stream.timeout}")
+	private Long timeout;
+	
+	@Value("${stream.max-per-client}")
+	private Integer maxPerClient;
+	
+	@Value("${stream.buffer}")
+	private Integer buffer;
+	
+	@Autowired
+	@Qualifier("streamExecutor")
+	private Executor streamExecutor;
+	
+	private Map<Integer, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+	
+	public SseEmitter subscribe() {
+		UserSS user = UserService.authenticated();
+		if(user == null) {
+			throw new AuthorizationException("Access denied");
+		}
+		Integer clientId = user.getId();
+		Subscriber subscriber = new Subscriber(clientId, new SseEmitter(timeout));
+		// The cap check and the add run under the map's lock for this client, as does every removal.
+		subscribers.compute(clientId, (k, set) -> {
+			if(set == null) {
+				set = new CopyOnWriteArraySet<>();
+			}
+			if(set.size() >= maxPerClient) {
+				throw new TooManyRequestsException("Limite de conexões atingido.");
+			}
+			set.add(subscriber);
+			return set;
+		});
+		subscriber.emitter.onCompletion(() -> remove(subscriber));
+		subscriber.emitter.onTimeout(() -> remove(subscriber));
+		subscriber.emitter.onError(e -> remove(subscriber));
+		return subscriber.emitter;
+	}
+	
+	@EventListener
+	public void onStatus(OrderStatusDTO event) {
+		Set<Subscriber> set = subscribers.get(event.getClientId());
+		if(set == null) {
+			return;
+		}
+		for(Subscriber subscriber : set) {
+			subscriber.enqueue(SseEmitter.event().name("order-status").data(event));
+		}
+	}
+	
+	@Scheduled(fixedRateString = "${stream.heartbeat}")
+	public void heartbeat() {
+		for(Set<Subscriber> set : subscribers.values()) {
+			for(Subscriber subscriber : set) {
+				subscriber.enqueue(SseEmitter.event().comment("ping"));
+			}
+		}
+	}
+	
+	private void remove(Subscriber subscriber) {
+		subscribers.computeIfPresent(subscriber.clientId, (k, set) -> {
+			set.remove(subscriber);
+			return set.isEmpty() ? null : set;
+		});
+	}
+	
+	private void drop(Subscriber subscriber, Exception e) {
+		remove(subscriber);
+		if(!subscriber.closed) {
+			subscriber.closed = true;
+			subscriber.emitter.completeWithError(e);
+		}
+	}
+	
+	private class Subscriber {
+		
+		private final Integer clientId;
+		private final SseEmitter emitter;
+		private final Queue<SseEmitter.SseEventBuilder> pending = new ConcurrentLinkedQueue<>();
+		private final AtomicInteger size = new AtomicInteger();
+		private volatile boolean closed;
+		
+		Subscriber(Integer clientId, SseEmitter emitter) {
+			this.clientId = clientId;
+			this.emitter = emitter;
+		}
+		
+		void enqueue(SseEmitter.SseEventBuilder event) {
+			if(size.get() >= buffer) {
+				drop(this, new IllegalStateException("Cliente lento, conexão encerrada."));
+				return;
+			}
+			pending.add(event);
+			// Only the caller that moves the count off zero schedules a drain, so sends stay in order.
+			if(size.getAndIncrement() == 0) {
+				try {
+					streamExecutor.execute(this::drain);
+				} catch(RejectedExecutionException e) {
+					drop(this, e);
+				}
+			}
+		}
+		
+		private void drain() {
+			do {
+				SseEmitter.SseEventBuilder event = pending.poll();
+				if(closed) {
+					continue;
+				}
+				try {
+					emitter.send(event);
+				} catch(IOException | IllegalStateException e) {
+					drop(this, e);
+				}
+			} while(size.decrementAndGet() > 0);
+		}
+	}
+}
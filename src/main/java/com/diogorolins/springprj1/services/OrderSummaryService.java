@@ -0,0 +1,44 @@
+package com.diogorolins.springprj1.services;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort.Direction;
+import org.springframework.stereotype.Service;
+
+import com.diogorolins.springprj1.domain.Order;
+import com.diogorolins.springprj1.domain.OrderSummary;
+import com.diogorolins.springprj1.domain.enums.PaymentStatus;
+import com.diogorolins.springprj1.exceptions.AuthorizationException;
+import com.diogorolins.springprj1.repositories.OrderSummaryRepository;
+import com.diogorolins.springprj1.security.UserSS;
+
+@Service
+public class OrderSummaryService {
+
+	@Autowired
+	private OrderSummaryRepository repository;
+
+	public OrderSummary insert(Order order) {
+		return repository.save(new OrderSummary(order));
+	}
+
+	public void updatePaymentStatus(Integer orderId, PaymentStatus status) {
+		repository.updatePaymentStatus(orderId, status.getCode());
+	}
+
+	public void updatePaymentStatusIn(List<Integer> orderIds, PaymentStatus status) {
+		repository.updatePaymentStatusIn(orderIds, status.getCode());
+	}
+
+	public Page<OrderSummary> findPage(Integer page, Integer linesPerPage, String orderBy, String direction ){
+		UserSS user = UserService.authenticated();
+		if(user == null) {
+			throw new AuthorizationException("Access denied");
+		}
+		PageRequest pageRequest = PageRequest.of(page, linesPerPage, Direction.valueOf(direction), orderBy);
+		return repository.findByClientId(user.getId(), pageRequest);
+	}
+}
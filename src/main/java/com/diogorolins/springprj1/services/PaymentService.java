@@ -1,21 +1,140 @@
 package com.diogorolins.springprj1.services;
 
-import java.util.Calendar;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Date;
+import java.util.List;
+import java.util.Optional;
 
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import com.diogorolins.springprj1.domain.Order;
+import com.diogorolins.springprj1.domain.OrderItem;
+import com.diogorolins.springprj1.domain.Payment;
 import com.diogorolins.springprj1.domain.PaymentBoleto;
+import com.diogorolins.springprj1.domain.PaymentCard;
+import com.diogorolins.springprj1.domain.dto.OrderStatusDTO;
+import com.diogorolins.springprj1.domain.dto.PaymentStatusDTO;
+import com.diogorolins.springprj1.domain.enums.PaymentStatus;
+import com.diogorolins.springprj1.domain.enums.Roles;
+import com.diogorolins.springprj1.exceptions.AuthorizationException;
+import com.diogorolins.springprj1.exceptions.ObjectNotFoundException;
+import com.diogorolins.springprj1.repositories.OrderRepository;
+import com.diogorolins.springprj1.repositories.PaymentRepository;
+import com.diogorolins.springprj1.security.UserSS;
 
 @Service
 public class PaymentService {
+	
+	@Autowired
+	private PaymentRepository repository;
+	
+	@Autowired
+	private OrderRepository orderRepository;
+	
+	@Autowired
+	private OrderSummaryService orderSummaryService;
+	
+	@Autowired
+	private StockService stockService;
+	
+	@Autowired
+	private SalesRollupService salesRollupService;
+	
+	@Autowired
+	private ApplicationEventPublisher publisher;
+	
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+	
+	@Autowired
+	private BusinessDayService businessDayService;
+	
+	@Value("${boleto.due.business.days}")
+	private Integer boletoDueDays;
+	
+	@Value("${payment.boleto.discount}")
+	private Double boletoDiscount;
+	
+	@Value("${payment.card.discount}")
+	private Double cardDiscount;
 
+	public Payment findById(Integer id) {
+		Optional<Payment> obj = repository.findById(id);
+		Payment pay = obj.orElseThrow(() -> new ObjectNotFoundException("Resource not found: " + Payment.class.getSimpleName() + " id " + id));
+		UserSS user = UserService.authenticated();
+		if(user == null || !user.hasRole(Roles.ADMIN) && !pay.getOrder().getClient().getId().equals(user.getId())) {
+			throw new AuthorizationException("Access denied");
+		}
+		return pay;
+	}
+	
+	public Page<PaymentStatusDTO> findStatusPage(PaymentStatus status, Integer page, Integer linesPerPage) {
+		Page<Object[]> rows = repository.findStatusByStatus(status.getCode(), PageRequest.of(page, linesPerPage));
+		List<PaymentStatusDTO> list = new ArrayList<>();
+		for(Object[] row : rows.getContent()) {
+			list.add(new PaymentStatusDTO(((Number) row[0]).intValue(), (String) row[1], 
+					PaymentStatus.valueOf(((Number) row[2]).intValue()), null));
+		}
+		return new PageImpl<>(list, rows.getPageable(), rows.getTotalElements());
+	}
+	
+	public List<PaymentStatusDTO> countByStatus() {
+		List<PaymentStatusDTO> list = new ArrayList<>();
+		for(Object[] row : repository.countByStatusAndType()) {
+			list.add(new PaymentStatusDTO(null, (String) row[1], 
+					PaymentStatus.valueOf(((Number) row[0]).intValue()), ((Number) row[2]).longValue()));
+		}
+		return list;
+	}
+	
 	public void fillPaymentBoleto(PaymentBoleto pay, Date instant) {
-		Calendar calendar = Calendar.getInstance();
-		calendar.setTime(instant);
-		calendar.add(Calendar.DAY_OF_MONTH, 7);
-		pay.setDueDate(calendar.getTime());
-		
+		pay.setDueDate(businessDayService.addBusinessDays(instant, boletoDueDays));
+	}
+	
+	// Unit discount by payment type, as a fraction of the unit price, rounded to cents.
+	public void applyDiscount(OrderItem item, Payment pay) {
+		double rate = (pay instanceof PaymentBoleto) ? boletoDiscount : (pay instanceof PaymentCard) ? cardDiscount : 0.0;
+		item.setDiscount(Math.round(item.getPrice() * rate * 100) / 100.0);
+	}
+	
+	// Cancels under the row lock, as the sweeper does, so a concurrent PAID is never overwritten.
+	public boolean cancelIfWaiting(Integer id) {
+		TransactionTemplate tx = new TransactionTemplate(transactionManager);
+		List<Order> orders = tx.execute(status -> {
+			List<Integer> waiting = repository.lockIdsByStatus(Arrays.asList(id), PaymentStatus.WAITING_PAYMENT.getCode());
+			return waiting.isEmpty() ? new ArrayList<Order>() : applyStatus(waiting, PaymentStatus.CANCELED);
+		});
+		publishStatus(orders, PaymentStatus.CANCELED);
+		return !orders.isEmpty();
+	}
+	
+	// Runs inside the caller's transaction; ids must be locked and still WAITING_PAYMENT.
+	public List<Order> applyStatus(List<Integer> ids, PaymentStatus status) {
+		repository.updateStatusIn(ids, status.getCode());
+		orderSummaryService.updatePaymentStatusIn(ids, status);
+		List<Order> orders = orderRepository.findFullByIdIn(ids);
+		for(Order order : orders) {
+			salesRollupService.recordStatusChange(order, PaymentStatus.WAITING_PAYMENT, status);
+		}
+		return orders;
+	}
+	
+	public void publishStatus(List<Order> orders, PaymentStatus status) {
+		for(Order order : orders) {
+			if(status == PaymentStatus.CANCELED) {
+				stockService.release(order);
+			}
+			publisher.publishEvent(new OrderStatusDTO(order, status));
+		}
 	}
 	
 
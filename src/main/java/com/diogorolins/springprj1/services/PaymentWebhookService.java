@@ -0,0 +1,190 @@
+package com.diogorolins.springprj1.services;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import javax.annotation.PostConstruct;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.diogorolins.springprj1.domain.Order;
+import com.diogorolins.springprj1.domain.PaymentEvent;
+import com.diogorolins.springprj1.domain.enums.PaymentStatus;
+import com.diogorolins.springprj1.exceptions.AuthorizationException;
+import com.diogorolins.springprj1.repositories.PaymentEventRepository;
+import com.diogorolins.springprj1.repositories.PaymentRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/*
+ * Gateway notifications are only appended to tb_payment_event on receipt.
+ * A scheduled consumer reads pending events in id order, keeps the latest
+ * event per payment and applies the transitions in set-based batches.
+ * Redeliveries are dropped by the (gateway, event_id) unique key. Each
+ * delivery must carry a hex HMAC-SHA256 of the raw body keyed by webhook.secret.
+ */
+@Service
+public class PaymentWebhookService {
+
+	private static final Logger LOG = LoggerFactory.getLogger(PaymentWebhookService.class);
+
+	@Autowired
+	private PaymentEventRepository repository;
+
+	@Autowired
+	private PaymentRepository paymentRepository;
+
+	@Autowired
+	private PaymentService paymentService;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@Autowired
+	private ObjectMapper mapper;
+
+	@Value("${webhook.secret}")
+	private String secret;
+
+	@Value("${webhook.batch.size}")
+	private Integer batchSize;
+
+	private SecretKeySpec key;
+
+	@PostConstruct
+	public void init() {
+		if (secret == null || secret.trim().isEmpty()) {
+			throw new IllegalStateException("webhook.secret must be set (WEBHOOK_SECRET); only the dev and test profiles provide a default");
+		}
+		key = new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), "HmacSHA256");
+	}
+
+	public void receive(String gateway, String signature, byte[] body) {
+		if (signature == null || !MessageDigest.isEqual(sign(body), signature.toLowerCase().getBytes(StandardCharsets.US_ASCII))) {
+			throw new AuthorizationException("Access denied");
+		}
+		PaymentEvent event = parse(gateway, new String(body, StandardCharsets.UTF_8));
+		try {
+			repository.save(event);
+		} catch (DataIntegrityViolationException e) {
+			LOG.debug("Evento repetido ignorado: " + gateway + " " + event.getEventId());
+		}
+	}
+
+	private byte[] sign(byte[] body) {
+		try {
+			Mac mac = Mac.getInstance("HmacSHA256");
+			mac.init(key);
+			StringBuilder hex = new StringBuilder();
+			for (byte b : mac.doFinal(body)) {
+				hex.append(String.format("%02x", b));
+			}
+			return hex.toString().getBytes(StandardCharsets.US_ASCII);
+		} catch (GeneralSecurityException e) {
+			throw new IllegalStateException("HmacSHA256 indisponível", e);
+		}
+	}
+
+	private PaymentEvent parse(String gateway, String payload) {
+		try {
+			JsonNode node = mapper.readTree(payload);
+			JsonNode eventId = node.get("id");
+			JsonNode paymentId = node.get("paymentId");
+			JsonNode status = node.get("status");
+			if (eventId == null || paymentId == null || !paymentId.canConvertToInt() || status == null) {
+				throw new IllegalStateException("Evento de pagamento inválido.");
+			}
+			PaymentStatus paymentStatus = status.isInt() ? PaymentStatus.valueOf(status.asInt()) : PaymentStatus.valueOf(status.asText());
+			Date paymentDate = node.hasNonNull("paymentDate") ? new SimpleDateFormat("dd/MM/yyyy HH:mm").parse(node.get("paymentDate").asText()) : null;
+			return new PaymentEvent(null, gateway, eventId.asText(), paymentId.asInt(), paymentStatus, paymentDate, new Date(), payload);
+		} catch (IOException | ParseException | IllegalArgumentException e) {
+			throw new IllegalStateException("Evento de pagamento inválido.");
+		}
+	}
+
+	@Scheduled(fixedDelayString = "${webhook.apply.interval}")
+	public synchronized void apply() {
+		TransactionTemplate tx = new TransactionTemplate(transactionManager);
+		while (true) {
+			long start = System.currentTimeMillis();
+			Map<PaymentStatus, List<Order>> applied = new LinkedHashMap<>();
+			Integer events = tx.execute(status -> applyBatch(applied));
+			for (Map.Entry<PaymentStatus, List<Order>> entry : applied.entrySet()) {
+				paymentService.publishStatus(entry.getValue(), entry.getKey());
+			}
+			if (events > 0) {
+				LOG.info("Eventos de pagamento: " + events + " lidos, "
+						+ applied.values().stream().mapToInt(List::size).sum() + " aplicados em "
+						+ (System.currentTimeMillis() - start) + " ms");
+			}
+			if (events < batchSize) {
+				break;
+			}
+		}
+	}
+
+	private Integer applyBatch(Map<PaymentStatus, List<Order>> applied) {
+		List<PaymentEvent> events = repository.findPending(PageRequest.of(0, batchSize));
+		if (events.isEmpty()) {
+			return 0;
+		}
+		Map<Integer, PaymentEvent> latest = new LinkedHashMap<>();
+		for (PaymentEvent event : events) {
+			latest.put(event.getPaymentId(), event);
+		}
+		Map<PaymentStatus, List<PaymentEvent>> byStatus = latest.values().stream()
+				.filter(e -> e.getPaymentStatus() != PaymentStatus.WAITING_PAYMENT)
+				.collect(Collectors.groupingBy(PaymentEvent::getPaymentStatus, LinkedHashMap::new, Collectors.toList()));
+		for (Map.Entry<PaymentStatus, List<PaymentEvent>> entry : byStatus.entrySet()) {
+			List<Integer> ids = entry.getValue().stream().map(PaymentEvent::getPaymentId).collect(Collectors.toList());
+			List<Integer> waiting = paymentRepository.lockIdsByStatus(ids, PaymentStatus.WAITING_PAYMENT.getCode());
+			if (waiting.isEmpty()) {
+				continue;
+			}
+			if (entry.getKey() == PaymentStatus.PAID) {
+				updatePaymentDates(entry.getValue(), waiting);
+			}
+			applied.put(entry.getKey(), paymentService.applyStatus(waiting, entry.getKey()));
+		}
+		repository.markProcessed(events.stream().map(PaymentEvent::getId).collect(Collectors.toList()));
+		return events.size();
+	}
+
+	private void updatePaymentDates(List<PaymentEvent> events, List<Integer> waiting) {
+		Map<Date, List<Integer>> byDay = new LinkedHashMap<>();
+		for (PaymentEvent event : events) {
+			if (waiting.contains(event.getPaymentId())) {
+				Date date = (event.getPaymentDate() == null) ? event.getReceivedAt() : event.getPaymentDate();
+				LocalDate day = date.toInstant().atZone(ZoneId.systemDefault()).toLocalDate();
+				byDay.computeIfAbsent(Date.from(day.atStartOfDay(ZoneId.systemDefault()).toInstant()), k -> new ArrayList<>())
+						.add(event.getPaymentId());
+			}
+		}
+		for (Map.Entry<Date, List<Integer>> entry : byDay.entrySet()) {
+			paymentRepository.updatePaymentDateIn(entry.getValue(), entry.getKey());
+		}
+	}
+}
@@ -1,9 +1,16 @@
 package com.diogorolins.springprj1.services;
 
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import javax.annotation.PostConstruct;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
@@ -12,11 +19,13 @@ import org.springframework.stereotype.Service;
 
 import com.diogorolins.springprj1.domain.Category;
 import com.diogorolins.springprj1.domain.Product;
+import com.diogorolins.springprj1.domain.dto.ProductDTO;
 import com.diogorolins.springprj1.domain.dto.ProductNewDTO;
 import com.diogorolins.springprj1.exceptions.DatabaseException;
 import com.diogorolins.springprj1.exceptions.ObjectNotFoundException;
 import com.diogorolins.springprj1.repositories.CategoryRepository;
 import com.diogorolins.springprj1.repositories.ProductRepository;
+import com.diogorolins.springprj1.utils.LruMap;
 
 @Service
 public class ProductService {
@@ -27,6 +36,22 @@ public class ProductService {
 	@Autowired
 	private CategoryRepository categoryRepository;
 	
+	@Value("${product.price.cache.size}")
+	private Integer priceCacheSize;
+	
+	@Value("${product.price.cache.ttl}")
+	private Long priceCacheTtl;
+	
+	private LruMap<Integer, CachedPrice> prices;
+	
+	// Bumped on every product change; a load started before the bump is not cached.
+	private long generation;
+	
+	@PostConstruct
+	public void init() {
+		prices = new LruMap<>(priceCacheSize);
+	}
+	
 	public List<Product> findAll() {
 		return repository.findAll();
 	}
@@ -36,6 +61,58 @@ public class ProductService {
 		return obj.orElseThrow(() -> new ObjectNotFoundException("Resource not found: " + Product.class.getSimpleName() + " id " + id));
 	}
 	
+	public Map<Integer, Product> findAllById(List<Integer> ids) {
+		Map<Integer, Product> products = repository.findWithCategories(ids).stream()
+				.collect(Collectors.toMap(Product::getId, Function.identity()));
+		for (Integer id : ids) {
+			if (!products.containsKey(id)) {
+				throw new ObjectNotFoundException("Resource not found: " + Product.class.getSimpleName() + " id " + id);
+			}
+		}
+		return products;
+	}
+	
+	public Map<Integer, ProductDTO> findPrices(List<Integer> ids) {
+		Map<Integer, ProductDTO> result = new HashMap<>();
+		long now = System.currentTimeMillis();
+		long loadGeneration;
+		synchronized (prices) {
+			loadGeneration = generation;
+			for (Integer id : ids) {
+				CachedPrice cached = prices.get(id);
+				if (cached != null && cached.expiresAt > now) {
+					result.put(id, cached.price);
+				}
+			}
+		}
+		List<Integer> missing = ids.stream().filter(id -> !result.containsKey(id)).distinct().collect(Collectors.toList());
+		if (!missing.isEmpty()) {
+			List<Product> loaded = repository.findAllById(missing);
+			synchronized (prices) {
+				for (Product product : loaded) {
+					ProductDTO price = new ProductDTO(product);
+					result.put(product.getId(), price);
+					if (generation == loadGeneration) {
+						prices.put(product.getId(), new CachedPrice(price, now + priceCacheTtl));
+					}
+				}
+			}
+		}
+		for (Integer id : ids) {
+			if (!result.containsKey(id)) {
+				throw new ObjectNotFoundException("Resource not found: " + Product.class.getSimpleName() + " id " + id);
+			}
+		}
+		return result;
+	}
+	
+	private void evictPrice(Integer id) {
+		synchronized (prices) {
+			generation++;
+			prices.remove(id);
+		}
+	}
+	
 	public Page<Product> search(String name, List<Integer> ids, Integer page, 
 			Integer linesPerPage, String orderBy, String direction){
 		
@@ -66,6 +143,7 @@ public class ProductService {
 		Product newProduct = findById(product.getId());
 		product = updateData(newProduct, product); 
 		repository.save(product);
+		evictPrice(product.getId());
 		return product;
 	}
 
@@ -81,9 +159,21 @@ public class ProductService {
 		findById(id);
 		try {
 			repository.deleteById(id);
+			evictPrice(id);
 		} catch(DataIntegrityViolationException e) {
 			Product prodDeleted = findById(id);
 			throw new DatabaseException(prodDeleted.getName());
 		}
 	}
+	
+	private static class CachedPrice {
+		
+		private final ProductDTO price;
+		private final long expiresAt;
+		
+		CachedPrice(ProductDTO price, long expiresAt) {
+			this.price = price;
+			this.expiresAt = expiresAt;
+		}
+	}
 }
@@ -0,0 +1,146 @@
+package com.diogorolins.springprj1.services;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+
+import com.diogorolins.springprj1.domain.Order;
+import com.diogorolins.springprj1.domain.dto.ReconciliationDTO;
+import com.diogorolins.springprj1.domain.enums.PaymentStatus;
+import com.diogorolins.springprj1.exceptions.FileException;
+import com.diogorolins.springprj1.repositories.PaymentRepository;
+
+/*
+ * Applies a bank return file for boletos. Detail lines are fixed width:
+ * record type '1' at column 1, payment id in columns 2-11 and payment date
+ * (ddMMyyyy) in columns 12-19; any other record type is skipped. Lines are
+ * read as a stream and applied in set-based batches grouped by payment date.
+ */
+@Service
+public class ReconciliationService {
+
+	private static final Logger LOG = LoggerFactory.getLogger(ReconciliationService.class);
+
+	private static final char DETAIL = '1';
+	private static final int ID_START = 1;
+	private static final int DATE_START = 11;
+	private static final int LINE_LENGTH = 19;
+	private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("ddMMyyyy");
+
+	@Autowired
+	private PaymentRepository paymentRepository;
+
+	@Autowired
+	private PaymentService paymentService;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@PersistenceContext
+	private EntityManager em;
+
+	@Value("${reconciliation.batch.size}")
+	private Integer batchSize;
+
+	public ReconciliationDTO reconcile(MultipartFile file) {
+		long start = System.currentTimeMillis();
+		ReconciliationDTO result = new ReconciliationDTO();
+		Map<String, List<Integer>> batch = new HashMap<>();
+		int pending = 0;
+		try (BufferedReader reader = new BufferedReader(new InputStreamReader(file.getInputStream(), StandardCharsets.ISO_8859_1))) {
+			String line;
+			while ((line = reader.readLine()) != null) {
+				if (line.isEmpty() || line.charAt(0) != DETAIL) {
+					continue;
+				}
+				result.setLines(result.getLines() + 1);
+				Integer id = (line.length() < LINE_LENGTH) ? null : parseId(line);
+				if (id == null) {
+					result.setRejected(result.getRejected() + 1);
+					continue;
+				}
+				batch.computeIfAbsent(line.substring(DATE_START, LINE_LENGTH), k -> new ArrayList<>()).add(id);
+				if (++pending >= batchSize) {
+					apply(batch, result);
+					batch.clear();
+					pending = 0;
+				}
+			}
+			apply(batch, result);
+		} catch (IOException e) {
+			throw new FileException("Erro ao ler arquivo de retorno", e);
+		}
+		result.setElapsed(System.currentTimeMillis() - start);
+		LOG.info("Retorno de boletos: " + result.getPaid() + " pagos, " + result.getIgnored() + " ignorados, "
+				+ result.getRejected() + " rejeitados em " + result.getElapsed() + " ms");
+		return result;
+	}
+
+	private void apply(Map<String, List<Integer>> batch, ReconciliationDTO result) {
+		TransactionTemplate tx = new TransactionTemplate(transactionManager);
+		for (Map.Entry<String, List<Integer>> entry : batch.entrySet()) {
+			Date paymentDate = parseDate(entry.getKey());
+			if (paymentDate == null) {
+				result.setRejected(result.getRejected() + entry.getValue().size());
+				continue;
+			}
+			List<Order> orders = tx.execute(status -> markPaid(entry.getValue(), paymentDate));
+			em.clear();
+			result.setPaid(result.getPaid() + orders.size());
+			result.setIgnored(result.getIgnored() + entry.getValue().size() - orders.size());
+			paymentService.publishStatus(orders, PaymentStatus.PAID);
+		}
+	}
+
+	private List<Order> markPaid(List<Integer> ids, Date paymentDate) {
+		List<Integer> waiting = paymentRepository.lockBoletoIdsByStatus(ids, PaymentStatus.WAITING_PAYMENT.getCode());
+		if (waiting.isEmpty()) {
+			return new ArrayList<>();
+		}
+		paymentRepository.updatePaymentDateIn(waiting, paymentDate);
+		return paymentService.applyStatus(waiting, PaymentStatus.PAID);
+	}
+
+	// Ten digits can exceed an int, so accumulate as long and reject anything past Integer.MAX_VALUE.
+	private Integer parseId(String line) {
+		long id = 0;
+		for (int i = ID_START; i < DATE_START; i++) {
+			char c = line.charAt(i);
+			if (c < '0' || c > '9') {
+				return null;
+			}
+			id = id * 10 + (c - '0');
+		}
+		return (id > Integer.MAX_VALUE) ? null : (int) id;
+	}
+
+	private Date parseDate(String value) {
+		try {
+			return Date.from(LocalDate.parse(value, DATE_FORMAT).atStartOfDay(ZoneId.systemDefault()).toInstant());
+		} catch (DateTimeParseException e) {
+			return null;
+		}
+	}
+}
@@ -0,0 +1,184 @@
+package com.diogorolins.springprj1.services;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.annotation.PreDestroy;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.diogorolins.springprj1.domain.Category;
+import com.diogorolins.springprj1.domain.Order;
+import com.diogorolins.springprj1.domain.OrderItem;
+import com.diogorolins.springprj1.domain.SalesRollup;
+import com.diogorolins.springprj1.domain.SalesRollupPK;
+import com.diogorolins.springprj1.domain.dto.SalesRollupDTO;
+import com.diogorolins.springprj1.domain.enums.PaymentStatus;
+import com.diogorolins.springprj1.domain.enums.RollupDimension;
+import com.diogorolins.springprj1.domain.enums.TimeBucket;
+import com.diogorolins.springprj1.repositories.SalesRollupRepository;
+
+/*
+ * Sales totals per day, product and category are accumulated in memory as
+ * orders are placed and payments change status, then added to tb_sales_rollup
+ * on a schedule. Dashboards read only the rollup table. Past-day accumulators
+ * are removed only after a flush finds them empty, and are drained once more
+ * on the following flush to catch writers that still held them.
+ */
+@Service
+public class SalesRollupService {
+
+	private static final Logger LOG = LoggerFactory.getLogger(SalesRollupService.class);
+
+	private static final Integer TOTAL_ID = 0;
+
+	@Autowired
+	private SalesRollupRepository repository;
+
+	private Map<SalesRollupPK, Accumulator> accumulators = new ConcurrentHashMap<>();
+
+	private List<Map.Entry<SalesRollupPK, Accumulator>> retired = new ArrayList<>();
+
+	public void recordPlaced(Order order) {
+		record(order, 1, true, false);
+	}
+
+	public void recordStatusChange(Order order, PaymentStatus previous, PaymentStatus status) {
+		boolean wasBooked = previous != PaymentStatus.CANCELED;
+		boolean isBooked = status != PaymentStatus.CANCELED;
+		boolean wasPaid = previous == PaymentStatus.PAID;
+		boolean isPaid = status == PaymentStatus.PAID;
+		if (wasBooked != isBooked) {
+			record(order, isBooked ? 1 : -1, true, false);
+		}
+		if (wasPaid != isPaid) {
+			record(order, isPaid ? 1 : -1, false, true);
+		}
+	}
+
+	private void record(Order order, int sign, boolean booked, boolean paid) {
+		Date day = bucketOf(order.getInstant(), TimeBucket.DAY);
+		Set<Integer> categories = new HashSet<>();
+		add(new SalesRollupPK(RollupDimension.TOTAL, TOTAL_ID, day), sign, 0, 0, booked, paid);
+		for (OrderItem i : order.getItems()) {
+			long units = (long) i.getQuantity() * sign;
+			long cents = Math.round(i.getSubTotal() * 100) * sign;
+			add(new SalesRollupPK(RollupDimension.TOTAL, TOTAL_ID, day), 0, units, cents, booked, paid);
+			add(new SalesRollupPK(RollupDimension.PRODUCT, i.getProduct().getId(), day), sign, units, cents, booked, paid);
+			for (Category cat : i.getProduct().getCategories()) {
+				int orders = categories.add(cat.getId()) ? sign : 0;
+				add(new SalesRollupPK(RollupDimension.CATEGORY, cat.getId(), day), orders, units, cents, booked, paid);
+			}
+		}
+	}
+
+	private void add(SalesRollupPK key, long orders, long units, long cents, boolean booked, boolean paid) {
+		Accumulator acc = accumulators.computeIfAbsent(key, k -> new Accumulator());
+		if (booked) {
+			acc.orders.add(orders);
+			acc.units.add(units);
+			acc.revenueCents.add(cents);
+		}
+		if (paid) {
+			acc.paidCents.add(cents);
+		}
+	}
+
+	@Scheduled(fixedDelayString = "${rollup.flush.interval}")
+	public synchronized void flush() {
+		Date today = bucketOf(new Date(), TimeBucket.DAY);
+		List<Map.Entry<SalesRollupPK, Accumulator>> detached = retired;
+		retired = new ArrayList<>();
+		// A writer may still have been holding a retired accumulator when it was removed.
+		for (Map.Entry<SalesRollupPK, Accumulator> entry : detached) {
+			drain(entry.getKey(), entry.getValue());
+		}
+		for (Map.Entry<SalesRollupPK, Accumulator> entry : accumulators.entrySet()) {
+			SalesRollupPK key = entry.getKey();
+			Accumulator acc = entry.getValue();
+			if (!drain(key, acc) && key.getDay().before(today) && accumulators.remove(key, acc)) {
+				retired.add(entry);
+			}
+		}
+	}
+
+	@PreDestroy
+	public synchronized void shutdown() {
+		flush();
+		for (Map.Entry<SalesRollupPK, Accumulator> entry : retired) {
+			drain(entry.getKey(), entry.getValue());
+		}
+		retired.clear();
+	}
+
+	// Returns whether the accumulator had anything to write.
+	private boolean drain(SalesRollupPK key, Accumulator acc) {
+		long orders = acc.orders.sumThenReset();
+		long units = acc.units.sumThenReset();
+		long cents = acc.revenueCents.sumThenReset();
+		long paidCents = acc.paidCents.sumThenReset();
+		if (orders == 0 && units == 0 && cents == 0 && paidCents == 0) {
+			return false;
+		}
+		try {
+			write(key, orders, units, cents, paidCents);
+		} catch (RuntimeException e) {
+			LOG.warn("Falha ao gravar consolidado de vendas: " + e.getMessage());
+			add(key, orders, units, cents, true, false);
+			add(key, 0, 0, paidCents, false, true);
+		}
+		return true;
+	}
+
+	private void write(SalesRollupPK key, long orders, long units, long cents, long paidCents) {
+		int updated = repository.addTotals(key.getDimension().getCode(), key.getDimensionId(), key.getDay(),
+				orders, units, cents / 100.0, paidCents / 100.0);
+		if (updated == 0) {
+			repository.save(new SalesRollup(key, orders, units, cents / 100.0, paidCents / 100.0));
+		}
+	}
+
+	public List<SalesRollupDTO> find(RollupDimension dimension, Date from, Date to, TimeBucket bucket) {
+		List<SalesRollup> list = repository.findRange(dimension.getCode(), bucketOf(from, TimeBucket.DAY),
+				bucketOf(to, TimeBucket.DAY));
+		Map<String, SalesRollupDTO> result = new LinkedHashMap<>();
+		for (SalesRollup obj : list) {
+			Date start = bucketOf(obj.getId().getDay(), bucket);
+			Integer id = (dimension == RollupDimension.TOTAL) ? null : obj.getId().getDimensionId();
+			result.computeIfAbsent(start.getTime() + ":" + id, k -> new SalesRollupDTO(start, id)).add(obj);
+		}
+		return new ArrayList<>(result.values());
+	}
+
+	private Date bucketOf(Date date, TimeBucket bucket) {
+		LocalDate day = date.toInstant().atZone(ZoneId.systemDefault()).toLocalDate();
+		if (bucket == TimeBucket.WEEK) {
+			day = day.with(DayOfWeek.MONDAY);
+		} else if (bucket == TimeBucket.MONTH) {
+			day = day.withDayOfMonth(1);
+		}
+		return Date.from(day.atStartOfDay(ZoneId.systemDefault()).toInstant());
+	}
+
+	private static class Accumulator {
+
+		private final LongAdder orders = new LongAdder();
+		private final LongAdder units = new LongAdder();
+		private final LongAdder revenueCents = new LongAdder();
+		private final LongAdder paidCents = new LongAdder();
+	}
+}
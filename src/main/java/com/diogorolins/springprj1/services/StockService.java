@@ -0,0 +1,187 @@
+package com.diogorolins.springprj1.services;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.diogorolins.springprj1.domain.Order;
+import com.diogorolins.springprj1.domain.OrderItem;
+import com.diogorolins.springprj1.domain.Product;
+import com.diogorolins.springprj1.domain.ProductStock;
+import com.diogorolins.springprj1.exceptions.ObjectNotFoundException;
+import com.diogorolins.springprj1.exceptions.StockException;
+import com.diogorolins.springprj1.repositories.ProductStockRepository;
+
+/*
+ * Stock is reserved against in-memory striped counters and flushed to
+ * tb_product_stock as accumulated deltas, so concurrent orders for the same
+ * product never wait on its row. Products without a stock row are not tracked.
+ */
+@Service
+public class StockService {
+
+	private static final Logger LOG = LoggerFactory.getLogger(StockService.class);
+
+	@Autowired
+	private ProductStockRepository repository;
+
+	private Map<Integer, StockCounter> counters = new ConcurrentHashMap<>();
+
+	@PostConstruct
+	public void load() {
+		for (ProductStock stock : repository.findAll()) {
+			counters.put(stock.getProductId(), new StockCounter(stock.getQuantity()));
+		}
+	}
+
+	public ProductStock findByProduct(Integer productId) {
+		StockCounter counter = counters.get(productId);
+		if (counter == null) {
+			throw new ObjectNotFoundException("Resource not found: " + ProductStock.class.getSimpleName() + " id " + productId);
+		}
+		return new ProductStock(productId, counter.available());
+	}
+
+	// Serialized with flush so a delta drained from the old counter is never added on top of the new quantity.
+	public synchronized ProductStock update(ProductStock obj) {
+		if (obj.getQuantity() == null || obj.getQuantity() < 0) {
+			throw new IllegalStateException("Quantidade em estoque inválida.");
+		}
+		obj = repository.save(obj);
+		counters.put(obj.getProductId(), new StockCounter(obj.getQuantity()));
+		return obj;
+	}
+
+	public void reserve(Order order) {
+		for (OrderItem i : order.getItems()) {
+			if (i.getQuantity() == null || i.getQuantity() <= 0) {
+				throw new IllegalStateException("Quantidade inválida: " + i.getProduct().getName());
+			}
+		}
+		List<OrderItem> reserved = new ArrayList<>();
+		for (OrderItem i : order.getItems()) {
+			StockCounter counter = counters.get(i.getProduct().getId());
+			if (counter == null) {
+				continue;
+			}
+			if (!counter.reserve(i.getQuantity())) {
+				release(reserved);
+				throw new StockException("Estoque insuficiente: " + i.getProduct().getName());
+			}
+			reserved.add(i);
+		}
+	}
+
+	public void release(Order order) {
+		release(new ArrayList<>(order.getItems()));
+	}
+
+	private void release(List<OrderItem> items) {
+		for (OrderItem i : items) {
+			Product product = i.getProduct();
+			StockCounter counter = counters.get(product.getId());
+			if (counter != null) {
+				counter.release(i.getQuantity());
+			}
+		}
+	}
+
+	@PreDestroy
+	public void shutdown() {
+		flush();
+	}
+
+	@Scheduled(fixedDelayString = "${stock.flush.interval}")
+	public synchronized void flush() {
+		for (Map.Entry<Integer, StockCounter> entry : counters.entrySet()) {
+			long delta = entry.getValue().pending.sumThenReset();
+			if (delta == 0) {
+				continue;
+			}
+			try {
+				repository.addQuantity(entry.getKey(), (int) delta);
+			} catch (RuntimeException e) {
+				entry.getValue().pending.add(delta);
+				LOG.warn("Falha ao gravar estoque do produto " + entry.getKey() + ": " + e.getMessage());
+			}
+		}
+	}
+
+	private static class StockCounter {
+
+		private final AtomicIntegerArray stripes;
+		private final LongAdder pending = new LongAdder();
+
+		StockCounter(int quantity) {
+			int n = Integer.highestOneBit(Math.max(1, Runtime.getRuntime().availableProcessors()));
+			stripes = new AtomicIntegerArray(n);
+			for (int i = 0; i < n; i++) {
+				stripes.set(i, quantity / n + ((i < quantity % n) ? 1 : 0));
+			}
+		}
+
+		private int home() {
+			return (int) Thread.currentThread().getId() & (stripes.length() - 1);
+		}
+
+		boolean reserve(int quantity) {
+			if (quantity <= 0) {
+				throw new IllegalArgumentException("quantity must be positive");
+			}
+			int n = stripes.length();
+			int start = home();
+			int[] taken = new int[n];
+			int remaining = quantity;
+			for (int i = 0; i < n && remaining > 0; i++) {
+				int idx = (start + i) & (n - 1);
+				int cur;
+				while ((cur = stripes.get(idx)) > 0) {
+					int take = Math.min(cur, remaining);
+					if (stripes.compareAndSet(idx, cur, cur - take)) {
+						taken[idx] = take;
+						remaining -= take;
+						break;
+					}
+				}
+			}
+			if (remaining > 0) {
+				for (int i = 0; i < n; i++) {
+					if (taken[i] > 0) {
+						stripes.addAndGet(i, taken[i]);
+					}
+				}
+				return false;
+			}
+			pending.add(-quantity);
+			return true;
+		}
+
+		void release(int quantity) {
+			if (quantity <= 0) {
+				throw new IllegalArgumentException("quantity must be positive");
+			}
+			stripes.addAndGet(home(), quantity);
+			pending.add(quantity);
+		}
+
+		int available() {
+			int sum = 0;
+			for (int i = 0; i < stripes.length(); i++) {
+				sum += stripes.get(i);
+			}
+			return sum;
+		}
+	}
+}
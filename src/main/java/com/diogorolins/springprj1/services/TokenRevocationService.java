@@ -0,0 +1,172 @@
+package com.diogorolins.springprj1.services;
+
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import javax.annotation.PostConstruct;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.diogorolins.springprj1.domain.RevokedToken;
+import com.diogorolins.springprj1.repositories.RevokedTokenRepository;
+
+import io.jsonwebtoken.Claims;
+
+/*
+ * Revoked token ids (logout, refresh) and subjects (password change, delete)
+ * are kept in an exact in-memory map guarded by a bloom filter, so the usual
+ * "not revoked" answer is a few bit reads. tb_revoked_token is the durable
+ * copy: loaded at startup, polled for rows written by other nodes and pruned
+ * once the affected tokens have expired. Polling re-scans a trailing window of
+ * revokedAt rather than following ids, since IDENTITY rows from other nodes can
+ * commit out of id order; rows seen twice merge into the same map entry.
+ */
+@Service
+public class TokenRevocationService {
+
+	private static final int HASHES = 4;
+
+	@Autowired
+	private RevokedTokenRepository repository;
+
+	@Value("${jwt.expiration}")
+	private Long expiration;
+
+	@Value("${revocation.bloom.bits}")
+	private Integer bits;
+
+	@Value("${revocation.refresh.margin}")
+	private Long margin;
+
+	private Map<String, Revocation> revoked = new ConcurrentHashMap<>();
+
+	private volatile BloomFilter bloom;
+
+	private long lastSeen = 0;
+
+	@PostConstruct
+	public void load() {
+		bloom = new BloomFilter(bits);
+		refresh();
+	}
+
+	public boolean isRevoked(Claims claims) {
+		BloomFilter filter = bloom;
+		String id = claims.getId();
+		if (id != null && filter.mightContain(id) && revoked.containsKey(id)) {
+			return true;
+		}
+		String subject = claims.getSubject();
+		if (filter.mightContain(subject)) {
+			Revocation revocation = revoked.get(subject);
+			Date issuedAt = claims.getIssuedAt();
+			return revocation != null && (issuedAt == null || issuedAt.getTime() < revocation.revokedAt);
+		}
+		return false;
+	}
+
+	public void revokeToken(Claims claims) {
+		if (claims.getId() != null) {
+			save(claims.getId(), claims.getExpiration());
+		}
+	}
+
+	public void revokeSubject(String email) {
+		save(email, new Date(System.currentTimeMillis() + expiration));
+	}
+
+	private void save(String key, Date expiresAt) {
+		// Token iat has second precision; tokens issued later in the same second stay valid.
+		Date now = new Date(System.currentTimeMillis() / 1000 * 1000);
+		RevokedToken obj = repository.save(new RevokedToken(null, key, now, expiresAt));
+		add(obj);
+	}
+
+	@Scheduled(fixedDelayString = "${revocation.refresh.interval}")
+	public synchronized void refresh() {
+		// The margin covers commit latency and clock skew between the nodes writing revokedAt.
+		for (RevokedToken obj : repository.findByRevokedAtGreaterThanEqual(new Date(lastSeen - margin))) {
+			add(obj);
+			lastSeen = Math.max(lastSeen, obj.getRevokedAt().getTime());
+		}
+	}
+
+	@Scheduled(cron = "${revocation.prune.cron}")
+	public synchronized void prune() {
+		long now = System.currentTimeMillis();
+		repository.deleteExpired(new Date(now));
+		revoked.values().removeIf(r -> r.expiresAt < now);
+		BloomFilter filter = new BloomFilter(bits);
+		for (String key : revoked.keySet()) {
+			filter.add(key);
+		}
+		bloom = filter;
+	}
+
+	private synchronized void add(RevokedToken obj) {
+		Revocation revocation = new Revocation(obj.getRevokedAt().getTime(), obj.getExpiresAt().getTime());
+		revoked.merge(obj.getTokenKey(), revocation, (a, b) -> (a.revokedAt >= b.revokedAt) ? a : b);
+		bloom.add(obj.getTokenKey());
+	}
+
+	private static class Revocation {
+
+		private final long revokedAt;
+		private final long expiresAt;
+
+		Revocation(long revokedAt, long expiresAt) {
+			this.revokedAt = revokedAt;
+			this.expiresAt = expiresAt;
+		}
+	}
+
+	private static class BloomFilter {
+
+		private final AtomicLongArray words;
+		private final int mask;
+
+		BloomFilter(int bits) {
+			int size = Integer.highestOneBit(Math.max(64, bits));
+			this.words = new AtomicLongArray(size >>> 6);
+			this.mask = size - 1;
+		}
+
+		void add(String key) {
+			int h1 = key.hashCode();
+			int h2 = mix(h1);
+			for (int i = 0; i < HASHES; i++) {
+				int bit = (h1 + i * h2) & mask;
+				long word;
+				do {
+					word = words.get(bit >>> 6);
+				} while (!words.compareAndSet(bit >>> 6, word, word | (1L << bit)));
+			}
+		}
+
+		boolean mightContain(String key) {
+			int h1 = key.hashCode();
+			int h2 = mix(h1);
+			for (int i = 0; i < HASHES; i++) {
+				int bit = (h1 + i * h2) & mask;
+				if ((words.get(bit >>> 6) & (1L << bit)) == 0) {
+					return false;
+				}
+			}
+			return true;
+		}
+
+		private static int mix(int h) {
+			h ^= h >>> 16;
+			h *= 0x85ebca6b;
+			h ^= h >>> 13;
+			h *= 0xc2b2ae35;
+			h ^= h >>> 16;
+			return h | 1;
+		}
+	}
+}
@@ -2,6 +2,7 @@ package com.diogorolins.springprj1.services;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
@@ -11,7 +12,7 @@ import com.diogorolins.springprj1.repositories.ClientRepository;
 import com.diogorolins.springprj1.security.UserSS;
 
 @Service
-public class UserDetaisServiceImpl implements UserDetailsService{
+public class UserDetaisServiceImpl implements UserDetailsService, UserDetailsPasswordService{
 
 	@Autowired
 	private ClientRepository repository;
@@ -23,7 +24,14 @@ public class UserDetaisServiceImpl implements UserDetailsService{
 		if(cli == null) {
 			throw new UsernameNotFoundException(email);
 		}
-		return new UserSS(cli.getId(), cli.getEmail(), cli.getPassword(), cli.getRoles());
+		return new UserSS(cli.getId(), cli.getEmail(), cli.getPassword(), cli.getRoleMask());
 	}
 
+	@Override
+	public UserDetails updatePassword(UserDetails user, String newPassword) {
+		Client cli = repository.findByEmail(user.getUsername());
+		cli.setPassword(newPassword);
+		repository.save(cli);
+		return new UserSS(cli.getId(), cli.getEmail(), cli.getPassword(), cli.getRoleMask());
+	}
 }
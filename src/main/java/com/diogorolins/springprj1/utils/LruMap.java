@@ -0,0 +1,24 @@
+package com.diogorolins.springprj1.utils;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/*
+ * Access-ordered map that drops its least recently used entry once it holds
+ * more than maxSize entries. Not thread-safe; callers lock around it.
+ */
+public class LruMap<K, V> extends LinkedHashMap<K, V> {
+	private static final long serialVersionUID = 1L;
+
+	private final int maxSize;
+
+	public LruMap(int maxSize) {
+		super(16, 0.75f, true);
+		this.maxSize = maxSize;
+	}
+
+	@Override
+	protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+		return size() > maxSize;
+	}
+}
@@ -0,0 +1,53 @@
+package com.diogorolins.springprj1.utils;
+
+import java.util.Map;
+import java.util.function.Function;
+
+/*
+ * Bounded LRU cache split into lock-striped LruMaps, so threads touching
+ * different keys rarely contend. The total size is split evenly across the
+ * stripes.
+ */
+public class StripedLruMap<K, V> {
+
+	private final LruMap<K, V>[] stripes;
+
+	@SuppressWarnings("unchecked")
+	public StripedLruMap(int stripes, int maxSize) {
+		this.stripes = new LruMap[stripes];
+		int perStripe = Math.max(1, maxSize / stripes);
+		for (int i = 0; i < stripes; i++) {
+			this.stripes[i] = new LruMap<>(perStripe);
+		}
+	}
+
+	public V get(K key) {
+		return withStripe(key, map -> map.get(key));
+	}
+
+	public void put(K key, V value) {
+		withStripe(key, map -> map.put(key, value));
+	}
+
+	public V remove(K key) {
+		return withStripe(key, map -> map.remove(key));
+	}
+
+	// Runs the action holding the lock of the key's stripe, for read-modify-write sequences.
+	public <R> R withStripe(K key, Function<Map<K, V>, R> action) {
+		LruMap<K, V> map = stripes[(key.hashCode() & 0x7fffffff) % stripes.length];
+		synchronized (map) {
+			return action.apply(map);
+		}
+	}
+
+	public int size() {
+		int size = 0;
+		for (LruMap<K, V> map : stripes) {
+			synchronized (map) {
+				size += map.size();
+			}
+		}
+		return size;
+	}
+}
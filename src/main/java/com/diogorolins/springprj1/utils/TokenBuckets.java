@@ -0,0 +1,51 @@
+package com.diogorolins.springprj1.utils;
+
+/*
+ * Token buckets keyed by string, held in a StripedLruMap with a fixed total
+ * size. A bucket starts full and is refilled lazily from the elapsed time
+ * whenever it is touched, one token every refill milliseconds.
+ */
+public class TokenBuckets {
+
+	private final StripedLruMap<String, Bucket> buckets;
+
+	public TokenBuckets(int stripes, int maxSize) {
+		this.buckets = new StripedLruMap<>(stripes, maxSize);
+	}
+
+	// Returns 0 when a token was taken, otherwise the milliseconds until the next one.
+	public long tryAcquire(String key, int capacity, long refill, long now) {
+		return buckets.withStripe(key, map -> {
+			Bucket bucket = map.get(key);
+			if (bucket == null) {
+				bucket = new Bucket(capacity, now);
+				map.put(key, bucket);
+			}
+			long tokens = (now - bucket.updatedAt) / refill;
+			if (tokens > 0) {
+				bucket.tokens = (int) Math.min(capacity, bucket.tokens + tokens);
+				bucket.updatedAt = (bucket.tokens == capacity) ? now : bucket.updatedAt + tokens * refill;
+			}
+			if (bucket.tokens == 0) {
+				return Math.max(1, bucket.updatedAt + refill - now);
+			}
+			bucket.tokens--;
+			return 0L;
+		});
+	}
+
+	public int size() {
+		return buckets.size();
+	}
+
+	private static class Bucket {
+
+		private int tokens;
+		private long updatedAt;
+
+		Bucket(int tokens, long updatedAt) {
+			this.tokens = tokens;
+			this.updatedAt = updatedAt;
+		}
+	}
+}
@@ -0,0 +1,4 @@
+-- Checkout idempotency keys (POST /orders, Idempotency-Key header).
+-- Apply before deploying; prod and test run with ddl-auto=none.
+ALTER TABLE tb_order ADD COLUMN idempotency_key VARCHAR(64) NULL;
+ALTER TABLE tb_order ADD CONSTRAINT uk_order_client_idempotency UNIQUE (client_id, idempotency_key);
@@ -0,0 +1,10 @@
+-- Client roles move from the tb_roles element collection to a bitmask on
+-- tb_client: bit (code - 1) is set for each Roles code (ADMIN = 1, CLIENT = 2).
+-- Apply before deploying; prod and test run with ddl-auto=none.
+ALTER TABLE tb_client ADD COLUMN roles INT NOT NULL DEFAULT 0;
+
+UPDATE tb_client c
+   SET c.roles = (SELECT COALESCE(BIT_OR(1 << (r.roles - 1)), 0) FROM tb_roles r WHERE r.client_id = c.id);
+
+-- Once the backfill is verified:
+-- DROP TABLE tb_roles;
@@ -0,0 +1,18 @@
+-- Explicit discriminator for the joined Payment hierarchy, so status lists and
+-- counts read tb_payment alone. Values match the JSON type ids.
+-- Apply before deploying; prod and test run with ddl-auto=none.
+ALTER TABLE tb_payment ADD COLUMN payment_type VARCHAR(31) NULL;
+
+UPDATE tb_payment p INNER JOIN payment_boleto b ON b.order_id = p.order_id
+   SET p.payment_type = 'paymentBoleto'
+ WHERE p.payment_type IS NULL;
+
+UPDATE tb_payment p INNER JOIN payment_card c ON c.order_id = p.order_id
+   SET p.payment_type = 'paymentCard'
+ WHERE p.payment_type IS NULL;
+
+-- Serves "WHERE payment_status = ? ORDER BY order_id DESC" without a filesort.
+CREATE INDEX idx_payment_status ON tb_payment (payment_status, order_id);
+
+-- Payments written by the previous version between this script and the deploy
+-- have no type yet: re-run the two UPDATEs once the new version is live.
@@ -0,0 +1,34 @@
+-- Denormalized order summaries for GET /orders (one row per order).
+-- Apply before deploying; prod and test run with ddl-auto=none.
+CREATE TABLE tb_order_summary (
+  id INT NOT NULL,
+  client_id INT NULL,
+  instant DATETIME(6) NULL,
+  total DOUBLE NULL,
+  item_count INT NULL,
+  payment_type VARCHAR(255) NULL,
+  payment_status INT NULL,
+  PRIMARY KEY (id),
+  INDEX idx_order_summary_client_instant (client_id, instant)
+) ENGINE=InnoDB;
+
+-- Backfill existing orders; total matches Order.getTotal (price - discount) * quantity.
+-- Both statements are idempotent: re-run them once the new version is live to
+-- pick up orders and status changes the previous version wrote in between.
+INSERT INTO tb_order_summary (id, client_id, instant, total, item_count, payment_type, payment_status)
+SELECT o.id, o.client_id, o.instant,
+       COALESCE(SUM((i.price - COALESCE(i.discount, 0)) * i.quantity), 0),
+       COALESCE(SUM(i.quantity), 0),
+       CASE WHEN b.order_id IS NULL THEN 'paymentCard' ELSE 'paymentBoleto' END,
+       p.payment_status
+  FROM tb_order o
+ INNER JOIN tb_payment p ON p.order_id = o.id
+  LEFT JOIN payment_boleto b ON b.order_id = o.id
+  LEFT JOIN tb_order_item i ON i.order_id = o.id
+  LEFT JOIN tb_order_summary s ON s.id = o.id
+ WHERE s.id IS NULL
+ GROUP BY o.id, o.client_id, o.instant, b.order_id, p.payment_status;
+
+UPDATE tb_order_summary s INNER JOIN tb_payment p ON p.order_id = s.id
+   SET s.payment_status = p.payment_status
+ WHERE s.payment_status <> p.payment_status;
@@ -0,0 +1,4 @@
+-- Order history pages filter on client_id and sort by instant
+-- (OrderRepository.findIdsByClientId).
+-- Apply before deploying; prod and test run with ddl-auto=none.
+CREATE INDEX idx_order_client_instant ON tb_order (client_id, instant);
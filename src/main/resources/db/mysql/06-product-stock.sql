@@ -0,0 +1,8 @@
+-- Per-product stock reserved at checkout. Products without a row are not tracked,
+-- so no backfill is needed; admins set quantities through PUT /products/{id}/stock.
+-- Apply before deploying; prod and test run with ddl-auto=none.
+CREATE TABLE tb_product_stock (
+  product_id INT NOT NULL,
+  quantity INT NULL,
+  PRIMARY KEY (product_id)
+) ENGINE=InnoDB;
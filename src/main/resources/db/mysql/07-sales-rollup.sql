@@ -0,0 +1,55 @@
+-- Daily sales rollups per dimension (1 = total, 2 = product, 3 = category).
+-- Apply before deploying; prod and test run with ddl-auto=none.
+CREATE TABLE tb_sales_rollup (
+  dimension INT NOT NULL,
+  dimension_id INT NOT NULL,
+  day DATE NOT NULL,
+  orders BIGINT NULL,
+  units BIGINT NULL,
+  revenue DOUBLE NULL,
+  paid_revenue DOUBLE NULL,
+  PRIMARY KEY (dimension, dimension_id, day)
+) ENGINE=InnoDB;
+
+-- Backfill from existing orders with the rules SalesRollupService applies:
+-- canceled orders are not booked, only PAID (2) orders count as paid revenue,
+-- line revenue is (price - discount) * quantity rounded to cents, and the day is
+-- the order's local date. The running application only adds deltas to these
+-- rows, so run the backfill with it stopped; each statement is skipped once its
+-- dimension has rows, which keeps re-runs from double counting.
+INSERT INTO tb_sales_rollup (dimension, dimension_id, day, orders, units, revenue, paid_revenue)
+SELECT 1, 0, DATE(o.instant),
+       COUNT(DISTINCT CASE WHEN p.payment_status <> 3 THEN o.id END),
+       COALESCE(SUM(CASE WHEN p.payment_status <> 3 THEN i.quantity END), 0),
+       COALESCE(SUM(CASE WHEN p.payment_status <> 3 THEN ROUND((i.price - COALESCE(i.discount, 0)) * i.quantity, 2) END), 0),
+       COALESCE(SUM(CASE WHEN p.payment_status = 2 THEN ROUND((i.price - COALESCE(i.discount, 0)) * i.quantity, 2) END), 0)
+  FROM tb_order o
+ INNER JOIN tb_payment p ON p.order_id = o.id
+  LEFT JOIN tb_order_item i ON i.order_id = o.id
+ WHERE NOT EXISTS (SELECT 1 FROM tb_sales_rollup r WHERE r.dimension = 1)
+ GROUP BY DATE(o.instant);
+
+INSERT INTO tb_sales_rollup (dimension, dimension_id, day, orders, units, revenue, paid_revenue)
+SELECT 2, i.product_id, DATE(o.instant),
+       COUNT(CASE WHEN p.payment_status <> 3 THEN 1 END),
+       COALESCE(SUM(CASE WHEN p.payment_status <> 3 THEN i.quantity END), 0),
+       COALESCE(SUM(CASE WHEN p.payment_status <> 3 THEN ROUND((i.price - COALESCE(i.discount, 0)) * i.quantity, 2) END), 0),
+       COALESCE(SUM(CASE WHEN p.payment_status = 2 THEN ROUND((i.price - COALESCE(i.discount, 0)) * i.quantity, 2) END), 0)
+  FROM tb_order o
+ INNER JOIN tb_payment p ON p.order_id = o.id
+ INNER JOIN tb_order_item i ON i.order_id = o.id
+ WHERE NOT EXISTS (SELECT 1 FROM tb_sales_rollup r WHERE r.dimension = 2)
+ GROUP BY i.product_id, DATE(o.instant);
+
+INSERT INTO tb_sales_rollup (dimension, dimension_id, day, orders, units, revenue, paid_revenue)
+SELECT 3, pc.category_id, DATE(o.instant),
+       COUNT(DISTINCT CASE WHEN p.payment_status <> 3 THEN o.id END),
+       COALESCE(SUM(CASE WHEN p.payment_status <> 3 THEN i.quantity END), 0),
+       COALESCE(SUM(CASE WHEN p.payment_status <> 3 THEN ROUND((i.price - COALESCE(i.discount, 0)) * i.quantity, 2) END), 0),
+       COALESCE(SUM(CASE WHEN p.payment_status = 2 THEN ROUND((i.price - COALESCE(i.discount, 0)) * i.quantity, 2) END), 0)
+  FROM tb_order o
+ INNER JOIN tb_payment p ON p.order_id = o.id
+ INNER JOIN tb_order_item i ON i.order_id = o.id
+ INNER JOIN tb_product_category pc ON pc.product_id = i.product_id
+ WHERE NOT EXISTS (SELECT 1 FROM tb_sales_rollup r WHERE r.dimension = 3)
+ GROUP BY pc.category_id, DATE(o.instant);
@@ -0,0 +1,4 @@
+-- The overdue boleto sweeper scans payment_boleto by due date; the status side
+-- is served by idx_payment_status (03-payment-type.sql).
+-- Apply before deploying; prod and test run with ddl-auto=none.
+CREATE INDEX idx_boleto_due_date ON payment_boleto (due_date);
@@ -0,0 +1,17 @@
+-- Inbox of signed payment gateway webhooks, applied in batches and deduplicated
+-- per gateway event id.
+-- Apply before deploying; prod and test run with ddl-auto=none.
+CREATE TABLE tb_payment_event (
+  id BIGINT NOT NULL AUTO_INCREMENT,
+  gateway VARCHAR(255) NULL,
+  event_id VARCHAR(255) NULL,
+  payment_id INT NULL,
+  payment_status INT NULL,
+  payment_date DATETIME(6) NULL,
+  received_at DATETIME(6) NULL,
+  processed BIT NULL,
+  payload LONGTEXT NULL,
+  PRIMARY KEY (id),
+  CONSTRAINT uk_payment_event_gateway_event UNIQUE (gateway, event_id),
+  INDEX idx_payment_event_processed (processed, id)
+) ENGINE=InnoDB;
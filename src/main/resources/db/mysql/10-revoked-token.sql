@@ -0,0 +1,12 @@
+-- Revoked token ids and subjects, loaded at startup, polled by revoked_at across
+-- nodes and pruned by expires_at.
+-- Apply before deploying; prod and test run with ddl-auto=none.
+CREATE TABLE tb_revoked_token (
+  id BIGINT NOT NULL AUTO_INCREMENT,
+  token_key VARCHAR(255) NULL,
+  revoked_at DATETIME(6) NULL,
+  expires_at DATETIME(6) NULL,
+  PRIMARY KEY (id),
+  INDEX idx_revoked_token_expires_at (expires_at),
+  INDEX idx_revoked_token_revoked_at (revoked_at)
+) ENGINE=InnoDB;
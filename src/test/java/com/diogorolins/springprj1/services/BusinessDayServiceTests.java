@@ -0,0 +1,111 @@
+package com.diogorolins.springprj1.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.TimeZone;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.diogorolins.springprj1.exceptions.FileException;
+
+class BusinessDayServiceTests {
+
+	@TempDir
+	Path dir;
+
+	private Path holidays;
+
+	@BeforeEach
+	void setUp() throws IOException {
+		holidays = dir.resolve("holidays.txt");
+		Files.write(holidays, Arrays.asList("# extra bank holidays", "", "  2026-03-10  "), StandardCharsets.UTF_8);
+	}
+
+	@Test
+	void skipsWeekendsAndNationalHolidays() {
+		BusinessDayService service = service(holidays);
+		assertFalse(service.isBusinessDay(date(2026, 3, 7)));
+		assertFalse(service.isBusinessDay(date(2026, 3, 8)));
+		assertFalse(service.isBusinessDay(date(2026, 4, 3)));
+		assertTrue(service.isBusinessDay(date(2026, 3, 9)));
+		assertEquals(date(2026, 3, 9), service.addBusinessDays(date(2026, 3, 7), 1));
+		assertEquals(date(2026, 4, 6), service.addBusinessDays(date(2026, 4, 2), 1));
+	}
+
+	@Test
+	void addingZeroDaysKeepsTheDate() {
+		BusinessDayService service = service(holidays);
+		assertEquals(date(2026, 3, 6), service.addBusinessDays(date(2026, 3, 6), 0));
+		assertEquals(date(2026, 3, 7), service.addBusinessDays(date(2026, 3, 7), 0));
+	}
+
+	@Test
+	void crossesYearBoundaries() {
+		BusinessDayService service = service(holidays);
+		assertEquals(date(2026, 1, 2), service.addBusinessDays(date(2025, 12, 31), 1));
+		assertEquals(date(2027, 1, 4), service.addBusinessDays(date(2026, 12, 30), 2));
+		assertEquals(date(2027, 2, 2), service.addBusinessDays(date(2026, 12, 20), 30));
+	}
+
+	@Test
+	void extendsTheTableForDatesOutsideTheLoadedYears() {
+		BusinessDayService service = service(holidays);
+		assertFalse(service.isBusinessDay(date(2040, 2, 13)));
+		assertEquals(date(2040, 2, 21), service.addBusinessDays(date(2040, 2, 10), 5));
+	}
+
+	@Test
+	void keepsTheTimeOfDay() {
+		BusinessDayService service = service(holidays);
+		Date friday = new Date(date(2026, 3, 6).getTime() + 15 * 60 * 60 * 1000);
+		assertEquals(new Date(date(2026, 3, 9).getTime() + 15 * 60 * 60 * 1000), service.addBusinessDays(friday, 1));
+	}
+
+	@Test
+	void readsExtraHolidaysFromFile() {
+		BusinessDayService service = service(holidays);
+		assertFalse(service.isBusinessDay(date(2026, 3, 10)));
+		assertEquals(date(2026, 3, 11), service.addBusinessDays(date(2026, 3, 9), 1));
+	}
+
+	@Test
+	void ignoresMissingHolidayFile() {
+		BusinessDayService service = service(dir.resolve("missing.txt"));
+		assertTrue(service.isBusinessDay(date(2026, 3, 10)));
+		assertEquals(date(2026, 3, 10), service.addBusinessDays(date(2026, 3, 9), 1));
+	}
+
+	@Test
+	void rejectsMalformedHolidayFile() throws IOException {
+		Files.write(holidays, Arrays.asList("2026-03-10", "10/03/2026"), StandardCharsets.UTF_8);
+		assertThrows(FileException.class, () -> service(holidays));
+	}
+
+	private static BusinessDayService service(Path file) {
+		BusinessDayService service = new BusinessDayService();
+		ReflectionTestUtils.setField(service, "file", file.toString());
+		ReflectionTestUtils.setField(service, "yearsBack", 1);
+		ReflectionTestUtils.setField(service, "yearsAhead", 2);
+		ReflectionTestUtils.setField(service, "zone", TimeZone.getTimeZone("UTC"));
+		service.load();
+		return service;
+	}
+
+	private static Date date(int year, int month, int day) {
+		return Date.from(LocalDate.of(year, month, day).atStartOfDay(ZoneOffset.UTC).toInstant());
+	}
+}
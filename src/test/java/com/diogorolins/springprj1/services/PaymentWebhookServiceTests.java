@@ -0,0 +1,61 @@
+package com.diogorolins.springprj1.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.diogorolins.springprj1.domain.enums.PaymentStatus;
+import com.diogorolins.springprj1.repositories.PaymentEventRepository;
+import com.diogorolins.springprj1.repositories.PaymentRepository;
+
+@SpringBootTest(properties = "webhook.secret=test-secret")
+@AutoConfigureMockMvc
+class PaymentWebhookServiceTests {
+
+	@Autowired
+	private MockMvc mvc;
+
+	@Autowired
+	private PaymentWebhookService service;
+
+	@Autowired
+	private PaymentRepository paymentRepository;
+
+	@Autowired
+	private PaymentEventRepository eventRepository;
+
+	private StubGateway gateway;
+
+	@BeforeEach
+	void setUp() {
+		gateway = new StubGateway(mvc, "stub", "test-secret");
+	}
+
+	@Test
+	void rejectsUnsignedAndForgedDeliveries() throws Exception {
+		String body = "{\"id\": \"forged\", \"paymentId\": 2, \"status\": \"PAID\"}";
+		gateway.deliver(body, "").andExpect(status().isForbidden());
+		gateway.deliver(body, new StubGateway(mvc, "stub", "changeit").sign(body)).andExpect(status().isForbidden());
+		gateway.deliver(body.replace("PAID", "CANCELED"), gateway.sign(body)).andExpect(status().isForbidden());
+		assertEquals(0, eventRepository.findAll().stream().filter(e -> "forged".equals(e.getEventId())).count());
+	}
+
+	@Test
+	void appliesSignedEventOnceAcrossRedeliveries() throws Exception {
+		gateway.notify("evt-1", 2, "PAID").andExpect(status().isAccepted());
+		gateway.notify("evt-1", 2, "PAID").andExpect(status().isAccepted());
+		assertEquals(1, eventRepository.findAll().stream().filter(e -> "evt-1".equals(e.getEventId())).count());
+
+		service.apply();
+
+		assertEquals(PaymentStatus.PAID, paymentRepository.findById(2).get().getPaymentStatus());
+		assertEquals(0, eventRepository.findPending(PageRequest.of(0, 10)).size());
+	}
+}
@@ -0,0 +1,51 @@
+package com.diogorolins.springprj1.services;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+import java.nio.charset.StandardCharsets;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+/*
+ * Local stand-in for a payment gateway: builds notification payloads and
+ * delivers them signed with the shared webhook secret.
+ */
+class StubGateway {
+
+	private final MockMvc mvc;
+	private final String name;
+	private final String secret;
+
+	StubGateway(MockMvc mvc, String name, String secret) {
+		this.mvc = mvc;
+		this.name = name;
+		this.secret = secret;
+	}
+
+	ResultActions notify(String eventId, int paymentId, String status) throws Exception {
+		String body = "{\"id\": \"" + eventId + "\", \"paymentId\": " + paymentId + ", \"status\": \"" + status + "\"}";
+		return deliver(body, sign(body));
+	}
+
+	ResultActions deliver(String body, String signature) throws Exception {
+		return mvc.perform(post("/payments/webhooks/" + name)
+				.contentType(MediaType.APPLICATION_JSON)
+				.header("X-Webhook-Signature", signature)
+				.content(body));
+	}
+
+	String sign(String body) throws Exception {
+		Mac mac = Mac.getInstance("HmacSHA256");
+		mac.init(new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+		StringBuilder hex = new StringBuilder();
+		for (byte b : mac.doFinal(body.getBytes(StandardCharsets.UTF_8))) {
+			hex.append(String.format("%02x", b));
+		}
+		return hex.toString();
+	}
+}